@@ -0,0 +1,19 @@
+package com.chess.benchmarks;
+import com.chess.FenUtilities;
+import com.chess.engine.board.Board;
+//The fixed corpus every benchmark runs over, one position for each phase of the game.
+public enum BenchmarkPositions {
+    OPENING("r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3"),
+    MIDDLEGAME("r2q1rk1/pp2bppp/2n1bn2/3p4/3P4/2NBBN2/PP3PPP/R2Q1RK1 w - - 0 11"),
+    ENDGAME("8/5pk1/6p1/3R4/7P/5PK1/r7/8 w - - 0 40");
+    private final String fen;
+    BenchmarkPositions(final String fen){
+        this.fen = fen;
+    }
+    public String getFen(){
+        return this.fen;
+    }
+    public Board createBoard(){
+        return FenUtilities.createGameFromFEN(this.fen);
+    }
+}
@@ -0,0 +1,21 @@
+package com.chess.benchmarks;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+//Runs the benchmarks with the gc profiler always on, so every result comes with the bytes allocated per op
+//(gc.alloc.rate.norm). Takes the usual JMH arguments, for example a benchmark name regex or -f, -wi, -i.
+//Build with mvn -f benchmarks/pom.xml package, then run java -jar benchmarks/target/benchmarks.jar
+public final class BenchmarkRunner {
+    private BenchmarkRunner(){
+        throw new RuntimeException("Cant Do that");
+    }
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
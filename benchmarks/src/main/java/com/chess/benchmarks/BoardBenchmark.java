@@ -0,0 +1,82 @@
+package com.chess.benchmarks;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.piece.Piece;
+import com.chess.engine.player.ai.BoardEvaluator;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+//The operations the GUI and the search repeat for every position: building a board, generating moves, playing
+//a move and evaluating. Moves are played in turn from the legal moves of the position so a single op is one move.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public BenchmarkPositions position;
+    private Board board;
+    private Move[] legalMoves;
+    private BoardEvaluator boardEvaluator;
+    private int moveIndex;
+    @Setup
+    public void setUp(){
+        this.board = this.position.createBoard();
+        final List<Move> moves = new ArrayList<>(this.board.currentPlayer().getLegalMoves());
+        this.legalMoves = moves.toArray(new Move[0]);
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.moveIndex = 0;
+    }
+    private Move nextMove(){
+        final Move move = this.legalMoves[this.moveIndex];
+        this.moveIndex = (this.moveIndex + 1) % this.legalMoves.length;
+        return move;
+    }
+    @Benchmark
+    public Board createStandardBoard(){
+        return Board.createStandardBoard();
+    }
+    @Benchmark
+    public Board createBoardFromFen(){
+        return this.position.createBoard();
+    }
+    //Piece.calcLegalMoves for every piece of the side to move, the pseudo legal moves before the king safety check.
+    @Benchmark
+    public void calcLegalMoves(final Blackhole blackhole){
+        for (final Piece piece : this.board.currentPlayer().getActivePieces()){
+            blackhole.consume(piece.calcLegalMoves(this.board));
+        }
+    }
+    //The legal moves of a board are computed once and kept, so this plays a move to get a board that has none yet.
+    @Benchmark
+    public Object legalMovesAfterMove(){
+        return nextMove().execute().currentPlayer().getLegalMoves();
+    }
+    @Benchmark
+    public Board moveExecute(){
+        return nextMove().execute();
+    }
+    @Benchmark
+    public Object playerMakeMove(){
+        return this.board.currentPlayer().makeMove(nextMove());
+    }
+    @Benchmark
+    public int evaluate(){
+        return this.boardEvaluator.evaluate(this.board, 0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.chess.benchmarks;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.MiniMax;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+//Whole fixed depth searches, reported as searches per second. The GUI used to play MiniMax at depth 4, MiniMax
+//runs one ply below that so an op stays short and AlphaBeta runs at the GUI depth. Each op is a new search object
+//so no transposition table or history carries over between ops.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    private static final int MINIMAX_DEPTH = 3;
+    private static final int ALPHA_BETA_DEPTH = 4;
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public BenchmarkPositions position;
+    private Board board;
+    @Setup
+    public void setUp(){
+        this.board = this.position.createBoard();
+    }
+    @Benchmark
+    public Move miniMax(){
+        return new MiniMax(MINIMAX_DEPTH).execute(this.board);
+    }
+    @Benchmark
+    public Move alphaBeta(){
+        return new AlphaBeta(ALPHA_BETA_DEPTH).execute(this.board);
+    }
+}
@@ -1,14 +1,117 @@
 package com.chess;
+import com.chess.engine.Team;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.piece.Pawn;
 import com.chess.engine.piece.Piece;
+import com.chess.engine.piece.PieceUtils;
 public class FenUtilities {
     private FenUtilities(){
         throw new RuntimeException("Not instantiable");
     }
+    //The move counters are ignored. Castling rights become the first move flags of the king and rooks, and a
+    //pawn on its starting row may still jump.
     public static Board createGameFromFEN(final String fenString){
-        return null;
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if (fenPartitions.length < 4){
+            throw new IllegalArgumentException("Invalid FEN " + fenString);
+        }
+        return parseFEN(fenPartitions[0], fenPartitions[1], fenPartitions[2], fenPartitions[3]);
+    }
+    private static Board parseFEN(final String boardText, final String moveMakerText, final String castleText,
+                                  final String enPassantText){
+        final Board.Builder builder = new Board.Builder();
+        final Piece[] pieces = new Piece[BoardUtils.Num_Tiles];
+        int coordinate = 0;
+        for (final char fenChar : boardText.toCharArray()){
+            if (fenChar == '/'){
+                continue;
+            }
+            if (Character.isDigit(fenChar)){
+                coordinate += fenChar - '0';
+                continue;
+            }
+            if (!BoardUtils.isValidTile(coordinate)){
+                throw new IllegalArgumentException("Invalid FEN board " + boardText);
+            }
+            pieces[coordinate] = createPiece(fenChar, coordinate, castleText);
+            builder.setPiece(pieces[coordinate]);
+            coordinate++;
+        }
+        if (coordinate != BoardUtils.Num_Tiles){
+            throw new IllegalArgumentException("Invalid FEN board " + boardText);
+        }
+        validatePieces(pieces, boardText);
+        final Team moveMaker = moveMaker(moveMakerText);
+        builder.setMoveMaker(moveMaker);
+        if (!enPassantText.equals("-")){
+            final Integer enPassantCoordinate = BoardUtils.POSITION_TO_COORDINATE.get(enPassantText);
+            //The square passed over by a pawn of the side that just moved, on rank 6 when White is to move.
+            final int enPassantRow = moveMaker.isWhite() ? 2 : 5;
+            if (enPassantCoordinate == null || enPassantCoordinate / BoardUtils.Num_Tiles_Row != enPassantRow){
+                throw new IllegalArgumentException("Invalid FEN en passant square " + enPassantText);
+            }
+            final int pawnCoordinate = enPassantCoordinate +
+                    BoardUtils.Num_Tiles_Row * moveMaker.getOppositeDirection();
+            if (!(pieces[pawnCoordinate] instanceof Pawn)){
+                throw new IllegalArgumentException("No pawn to take en passant on " + enPassantText);
+            }
+            builder.setEnPassantPawn((Pawn) pieces[pawnCoordinate]);
+        }
+        return builder.build();
+    }
+    //Board and the search assume one king a side and no pawn on the first or last rank.
+    private static void validatePieces(final Piece[] pieces, final String boardText){
+        final int[] kings = new int[Team.values().length];
+        for (final Piece piece : pieces){
+            if (piece == null){
+                continue;
+            }
+            if (piece.getPieceType() == Piece.PieceType.KING){
+                kings[piece.getPieceTeam().ordinal()]++;
+            } else if (piece.getPieceType() == Piece.PieceType.PAWN &&
+                    (BoardUtils.First_Row[piece.getPiecePosition()] || BoardUtils.Eighth_Row[piece.getPiecePosition()])){
+                throw new IllegalArgumentException("Pawn on the first or last rank in FEN board " + boardText);
+            }
+        }
+        for (final Team team : Team.values()){
+            if (kings[team.ordinal()] != 1){
+                throw new IllegalArgumentException("Expected one " + team + " king in FEN board " + boardText);
+            }
+        }
+    }
+    private static Piece createPiece(final char fenChar, final int coordinate, final String castleText){
+        final Team team = Character.isUpperCase(fenChar) ? Team.WHITE : Team.BLACK;
+        final boolean isWhite = team.isWhite();
+        switch (Character.toUpperCase(fenChar)){
+            case 'P':
+                return PieceUtils.getPawn(team, coordinate, isWhite ? BoardUtils.Second_Row[coordinate] : BoardUtils.Seventh_Row[coordinate]);
+            case 'N':
+                return PieceUtils.getKnight(team, coordinate, false);
+            case 'B':
+                return PieceUtils.getBishop(team, coordinate, false);
+            case 'Q':
+                return PieceUtils.getQueen(team, coordinate, false);
+            case 'R':
+                return PieceUtils.getRook(team, coordinate,
+                        (coordinate == (isWhite ? 63 : 7) && castleText.indexOf(isWhite ? 'K' : 'k') >= 0) ||
+                        (coordinate == (isWhite ? 56 : 0) && castleText.indexOf(isWhite ? 'Q' : 'q') >= 0));
+            case 'K':
+                final boolean kingSideCastleCapable = castleText.indexOf(isWhite ? 'K' : 'k') >= 0;
+                final boolean queenSideCastleCapable = castleText.indexOf(isWhite ? 'Q' : 'q') >= 0;
+                return PieceUtils.getKing(team, coordinate, kingSideCastleCapable || queenSideCastleCapable, false,
+                        kingSideCastleCapable, queenSideCastleCapable);
+            default:
+                throw new IllegalArgumentException("Invalid FEN piece " + fenChar);
+        }
+    }
+    private static Team moveMaker(final String moveMakerText){
+        if (moveMakerText.equals("w")){
+            return Team.WHITE;
+        } else if (moveMakerText.equals("b")){
+            return Team.BLACK;
+        }
+        throw new IllegalArgumentException("Invalid FEN side to move " + moveMakerText);
     }
     public static String createFENFromGame(final Board board){
         return calculateBoardText(board) + " " +
@@ -65,6 +168,6 @@ public class FenUtilities {
         return result.isEmpty() ? "-" : result;
     }
     private static String  calculateCurrentPlayerText(final Board board) {
-        return board.currentPlayer().toString().substring(0, 1).toLowerCase();
+        return board.currentPlayer().getTeam().isWhite() ? "w" : "b";
     }
 }
\ No newline at end of file
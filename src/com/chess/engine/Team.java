@@ -29,6 +29,10 @@ public enum Team {
         public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) {
             return whitePlayer;
         }
+        @Override
+        public Team opposite() {
+            return BLACK;
+        }
     },
     BLACK {
         @Override
@@ -55,6 +59,10 @@ public enum Team {
         public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) {
             return blackPlayer;
         }
+        @Override
+        public Team opposite() {
+            return WHITE;
+        }
     };
     public abstract int getDirection();
     public abstract int getOppositeDirection();
@@ -62,4 +70,5 @@ public enum Team {
     public abstract boolean isBlack();
     public abstract boolean isPawnPromotionSquare(int position);
     public abstract Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer);
+    public abstract Team opposite();
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.chess.engine.board;
+import com.chess.engine.Team;
+import com.chess.engine.piece.Piece.PieceType;
+//Square i of the board is bit i of a long, so a8 is bit 0 and h1 is bit 63.
+public final class BitBoards {
+    public static final long EMPTY = 0L;
+    public static final int Num_Piece_Types = PieceType.values().length;
+    public static final int Num_Piece_BitBoards = Num_Piece_Types * Team.values().length;
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_B = FILE_A << 1;
+    public static final long FILE_G = FILE_A << 6;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_8 = 0xFFL;
+    public static final long RANK_7 = RANK_8 << 8;
+    public static final long RANK_2 = RANK_8 << 48;
+    public static final long RANK_1 = RANK_8 << 56;
+    private static final long[] KNIGHT_ATTACKS = initAttackTable(true);
+    private static final long[] KING_ATTACKS = initAttackTable(false);
+    private BitBoards(){
+        throw new RuntimeException("Cant Do that");
+    }
+    public static long squareMask(final int coordinate){
+        return 1L << coordinate;
+    }
+    public static boolean isOccupied(final long bitBoard, final int coordinate){
+        return (bitBoard & squareMask(coordinate)) != 0;
+    }
+    public static int firstSquare(final long bitBoard){
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+    public static long clearFirstSquare(final long bitBoard){
+        return bitBoard & (bitBoard - 1);
+    }
+    public static int count(final long bitBoard){
+        return Long.bitCount(bitBoard);
+    }
+    public static int pieceIndex(final Team team, final PieceType pieceType){
+        return team.ordinal() * Num_Piece_Types + pieceType.ordinal();
+    }
+    //Destinations of a knight or king on each square, the edge of the board is handled once here.
+    private static long[] initAttackTable(final boolean isKnight){
+        final long[] attacks = new long[BoardUtils.Num_Tiles];
+        for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+            attacks[coordinate] = isKnight ? knightAttackSet(squareMask(coordinate)) : kingAttackSet(squareMask(coordinate));
+        }
+        return attacks;
+    }
+    public static long knightAttacks(final int coordinate){
+        return KNIGHT_ATTACKS[coordinate];
+    }
+    public static long kingAttacks(final int coordinate){
+        return KING_ATTACKS[coordinate];
+    }
+    private static long knightAttackSet(final long knights){
+        return ((knights << 17) & ~FILE_A) | ((knights << 15) & ~FILE_H) |
+                ((knights << 10) & ~(FILE_A | FILE_B)) | ((knights << 6) & ~(FILE_G | FILE_H)) |
+                ((knights >>> 17) & ~FILE_H) | ((knights >>> 15) & ~FILE_A) |
+                ((knights >>> 10) & ~(FILE_G | FILE_H)) | ((knights >>> 6) & ~(FILE_A | FILE_B));
+    }
+    private static long kingAttackSet(final long kings){
+        long attacks = ((kings << 1) & ~FILE_A) | ((kings >>> 1) & ~FILE_H);
+        final long row = kings | attacks;
+        attacks |= (row << 8) | (row >>> 8);
+        return attacks;
+    }
+    //Squares attacked by pawns of the given team, white pawns capture towards a8 and black pawns towards h1.
+    public static long pawnAttacks(final Team team, final long pawns){
+        if (team.isWhite()){
+            return ((pawns >>> 7) & ~FILE_A) | ((pawns >>> 9) & ~FILE_H);
+        }
+        return ((pawns << 7) & ~FILE_H) | ((pawns << 9) & ~FILE_A);
+    }
+    //Slider attacks come from the magic tables, the occupancy can be the whole board as only the rays are looked at.
+    public static long rookAttacks(final int coordinate, final long occupancy){
+        return MagicBitBoards.rookAttacks(coordinate, occupancy);
+    }
+    public static long bishopAttacks(final int coordinate, final long occupancy){
+        return MagicBitBoards.bishopAttacks(coordinate, occupancy);
+    }
+    public static long queenAttacks(final int coordinate, final long occupancy){
+        return rookAttacks(coordinate, occupancy) | bishopAttacks(coordinate, occupancy);
+    }
+    //Squares strictly between two squares on the same rank, file or diagonal, empty when they are not aligned.
+    public static long squaresBetween(final int first, final int second){
+        final long firstSquare = squareMask(first);
+        final long secondSquare = squareMask(second);
+        if ((rookAttacks(first, EMPTY) & secondSquare) != 0){
+            return rookAttacks(first, secondSquare) & rookAttacks(second, firstSquare);
+        }
+        if ((bishopAttacks(first, EMPTY) & secondSquare) != 0){
+            return bishopAttacks(first, secondSquare) & bishopAttacks(second, firstSquare);
+        }
+        return EMPTY;
+    }
+}
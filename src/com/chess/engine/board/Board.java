@@ -1,6 +1,7 @@
 package com.chess.engine.board;
 import com.chess.engine.Team;
 import com.chess.engine.piece.*;
+import com.chess.engine.piece.Piece.PieceType;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
@@ -8,33 +9,59 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 public class Board {
-    private final List<Tile> gameBoard;
-    private final Collection<Piece> whitePieces;
-    private final Collection<Piece> blackPieces;
+    private final Piece[] boardPieces;
+    private final long[] pieceBitBoards;
+    private final long[] teamBitBoards;
+    private final long occupancy;
+    private Tile[] tiles;
+    private Collection<Piece> whitePieces;
+    private Collection<Piece> blackPieces;
+    private Collection<Move> whiteStandardLegalMoves;
+    private Collection<Move> blackStandardLegalMoves;
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristKey;
     private Board(Builder builder){
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Team.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Team.BLACK);
+        this.boardPieces = builder.boardConfig.clone();
+        this.pieceBitBoards = new long[BitBoards.Num_Piece_BitBoards];
+        this.teamBitBoards = new long[Team.values().length];
+        this.occupancy = createBitBoards();
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        this.castlingRights = calculateCastlingRights();
+        this.zobristKey = builder.isZobristKeySet ? builder.zobristKey : Zobrist.calculateKey(this);
+    }
+    @Override
+    public boolean equals(final Object other){
+        if (this == other){
+            return true;
+        }
+        if (!(other instanceof Board)){
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey &&
+                this.currentPlayer.getTeam() == otherBoard.currentPlayer.getTeam() &&
+                this.castlingRights == otherBoard.castlingRights &&
+                enPassantCoordinate() == otherBoard.enPassantCoordinate() &&
+                Arrays.equals(this.pieceBitBoards, otherBoard.pieceBitBoards);
+    }
+    @Override
+    public int hashCode(){
+        return (int) (this.zobristKey ^ (this.zobristKey >>> 32));
     }
     @Override
     public String toString(){
         final StringBuilder builder = new StringBuilder();
         for(int i = 0; i < BoardUtils.Num_Tiles; i++){
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s", tileText));
             if((i + 1) % BoardUtils.Num_Tiles_Row == 0){
                 builder.append("\n");
@@ -46,11 +73,29 @@ public class Board {
         return tile.toString();
     }
     public Collection<Piece> getBlackPieces(){
+        if (this.blackPieces == null){
+            this.blackPieces = calculateActivePieces(Team.BLACK);
+        }
         return this.blackPieces;
     }
     public Collection<Piece> getWhitePieces(){
+        if (this.whitePieces == null){
+            this.whitePieces = calculateActivePieces(Team.WHITE);
+        }
         return this.whitePieces;
     }
+    public long getOccupancy(){
+        return this.occupancy;
+    }
+    public long getTeamBitBoard(final Team team){
+        return this.teamBitBoards[team.ordinal()];
+    }
+    public long getPieceBitBoard(final Team team, final PieceType pieceType){
+        return this.pieceBitBoards[BitBoards.pieceIndex(team, pieceType)];
+    }
+    public Piece getPiece(final int tileCoordinate){
+        return this.boardPieces[tileCoordinate];
+    }
     public Player whitePlayer(){
         return this.whitePlayer;
     }
@@ -63,18 +108,109 @@ public class Board {
     public Pawn getEnPassantPawn(){
         return this.enPassantPawn;
     }
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Team team){
-        final List<Piece> activePieces = new ArrayList<>();
-        for(final Tile tile: gameBoard) {
-            if (tile.isTileOccupied()) {
-                final Piece piece = tile.getPiece();
-                if (piece.getPieceTeam() == team) {
-                    activePieces.add(piece);
-                }
+    private int enPassantCoordinate(){
+        return this.enPassantPawn != null ? this.enPassantPawn.getPiecePosition() : -1;
+    }
+    public int getCastlingRights(){
+        return this.castlingRights;
+    }
+    public long getZobristKey(){
+        return this.zobristKey;
+    }
+    //A side may still castle while its king and that rook are both on their first move.
+    private int calculateCastlingRights(){
+        return castlingRight(Team.WHITE, 60, 63, BoardUtils.WHITE_KING_SIDE_CASTLE) |
+                castlingRight(Team.WHITE, 60, 56, BoardUtils.WHITE_QUEEN_SIDE_CASTLE) |
+                castlingRight(Team.BLACK, 4, 7, BoardUtils.BLACK_KING_SIDE_CASTLE) |
+                castlingRight(Team.BLACK, 4, 0, BoardUtils.BLACK_QUEEN_SIDE_CASTLE);
+    }
+    private int castlingRight(final Team team, final int kingCoordinate, final int rookCoordinate, final int right){
+        final Piece king = this.boardPieces[kingCoordinate];
+        final Piece rook = this.boardPieces[rookCoordinate];
+        return king != null && king.getPieceType().isKing() && king.getPieceTeam() == team && king.isFirstMove() &&
+                rook != null && rook.getPieceType().isRook() && rook.getPieceTeam() == team && rook.isFirstMove() ?
+                right : 0;
+    }
+    public boolean isSquareAttacked(final int tileCoordinate, final Team attackingTeam){
+        return isSquareAttacked(tileCoordinate, attackingTeam, this.occupancy, BitBoards.EMPTY);
+    }
+    //Pieces on the captured mask are ignored, so a move can be tested on the masks before its board is built.
+    private boolean isSquareAttacked(final int tileCoordinate, final Team attackingTeam,
+                                     final long occupied, final long captured){
+        final long square = BitBoards.squareMask(tileCoordinate);
+        final long remaining = ~captured;
+        if ((BitBoards.pawnAttacks(attackingTeam.opposite(), square) & getPieceBitBoard(attackingTeam, PieceType.PAWN) & remaining) != 0 ||
+                (BitBoards.knightAttacks(tileCoordinate) & getPieceBitBoard(attackingTeam, PieceType.KNIGHT) & remaining) != 0 ||
+                (BitBoards.kingAttacks(tileCoordinate) & getPieceBitBoard(attackingTeam, PieceType.KING)) != 0){
+            return true;
+        }
+        final long queens = getPieceBitBoard(attackingTeam, PieceType.QUEEN);
+        final long diagonalAttackers = (getPieceBitBoard(attackingTeam, PieceType.BISHOP) | queens) & remaining;
+        final long straightAttackers = (getPieceBitBoard(attackingTeam, PieceType.ROOK) | queens) & remaining;
+        return (BitBoards.bishopAttacks(tileCoordinate, occupied) & diagonalAttackers) != 0 ||
+                (BitBoards.rookAttacks(tileCoordinate, occupied) & straightAttackers) != 0;
+    }
+    //A piece is pinned when it is the only piece between its king and an enemy rook, bishop or queen.
+    public long calculatePinnedPieces(final Team team){
+        final long king = getPieceBitBoard(team, PieceType.KING);
+        if (king == BitBoards.EMPTY){
+            return BitBoards.EMPTY;
+        }
+        final int kingCoordinate = BitBoards.firstSquare(king);
+        final Team opponent = team.opposite();
+        final long queens = getPieceBitBoard(opponent, PieceType.QUEEN);
+        long pinners = (BitBoards.rookAttacks(kingCoordinate, BitBoards.EMPTY) & (getPieceBitBoard(opponent, PieceType.ROOK) | queens)) |
+                (BitBoards.bishopAttacks(kingCoordinate, BitBoards.EMPTY) & (getPieceBitBoard(opponent, PieceType.BISHOP) | queens));
+        long pinnedPieces = BitBoards.EMPTY;
+        for (; pinners != BitBoards.EMPTY; pinners = BitBoards.clearFirstSquare(pinners)){
+            final long blockers = BitBoards.squaresBetween(kingCoordinate, BitBoards.firstSquare(pinners)) & this.occupancy;
+            if (BitBoards.count(blockers) == 1 && (blockers & getTeamBitBoard(team)) != 0){
+                pinnedPieces |= blockers;
             }
         }
+        return pinnedPieces;
+    }
+    //Unpinned pieces can never expose their king unless it is already in check, every other move (king moves,
+    //pinned pieces, en passant and check evasions) is played out on the masks to see if the king ends up attacked.
+    public boolean isLegalMove(final Move move, final long pinnedPieces, final boolean isInCheck){
+        final Team team = move.getMovedPiece().getPieceTeam();
+        final long current = BitBoards.squareMask(move.getCurrentCoords());
+        final long destination = BitBoards.squareMask(move.getDestinationCoords());
+        if (move.getMovedPiece().getPieceType().isKing()){
+            return !isSquareAttacked(move.getDestinationCoords(), team.opposite(),
+                    (this.occupancy & ~current) | destination, destination);
+        }
+        final long captured = move.isAttack() ?
+                BitBoards.squareMask(move.getAttackedPiece().getPiecePosition()) : BitBoards.EMPTY;
+        final boolean isEnPassant = captured != BitBoards.EMPTY && captured != destination;
+        if (!isInCheck && !isEnPassant && (pinnedPieces & current) == 0){
+            return true;
+        }
+        final int kingCoordinate = BitBoards.firstSquare(getPieceBitBoard(team, PieceType.KING));
+        return !isSquareAttacked(kingCoordinate, team.opposite(),
+                (this.occupancy & ~current & ~captured) | destination, captured);
+    }
+    //Only walks the squares set in the team mask instead of all 64 tiles.
+    private Collection<Piece> calculateActivePieces(final Team team){
+        final List<Piece> activePieces = new ArrayList<>(BitBoards.count(getTeamBitBoard(team)));
+        for (long pieces = getTeamBitBoard(team); pieces != BitBoards.EMPTY; pieces = BitBoards.clearFirstSquare(pieces)){
+            activePieces.add(this.boardPieces[BitBoards.firstSquare(pieces)]);
+        }
         return Collections.unmodifiableList(activePieces);
     }
+    //Generated the first time a player asks for them and then kept for the life of the board.
+    public Collection<Move> getStandardLegalMoves(final Team team){
+        if (team.isWhite()){
+            if (this.whiteStandardLegalMoves == null){
+                this.whiteStandardLegalMoves = calculateLegalMoves(getWhitePieces());
+            }
+            return this.whiteStandardLegalMoves;
+        }
+        if (this.blackStandardLegalMoves == null){
+            this.blackStandardLegalMoves = calculateLegalMoves(getBlackPieces());
+        }
+        return this.blackStandardLegalMoves;
+    }
     private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
         final List<Move> LegalMoves = new ArrayList<>();
         for(final Piece piece : pieces){
@@ -82,52 +218,69 @@ public class Board {
         }
         return Collections.unmodifiableList(LegalMoves);
     }
+    //Only the GUI and the printed board still look at tiles, the engine reads the piece array. A tile is made the
+    //first time its square is asked for and then kept with the board.
     public Tile getTile(final int tileCoordinate){
-        return gameBoard.get(tileCoordinate);
+        if (this.tiles == null){
+            this.tiles = new Tile[BoardUtils.Num_Tiles];
+        }
+        Tile tile = this.tiles[tileCoordinate];
+        if (tile == null){
+            tile = Tile.createTile(tileCoordinate, this.boardPieces[tileCoordinate]);
+            this.tiles[tileCoordinate] = tile;
+        }
+        return tile;
     }
-    private static List<Tile> createGameBoard(final Builder builder){
-        final Tile[] tiles= new Tile[BoardUtils.Num_Tiles];
-        for(int i = 0; i < BoardUtils.Num_Tiles; i++){
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+    private long createBitBoards(){
+        long allPieces = BitBoards.EMPTY;
+        for (int position = 0; position < BoardUtils.Num_Tiles; position++){
+            final Piece piece = this.boardPieces[position];
+            if (piece == null){
+                continue;
+            }
+            final long square = BitBoards.squareMask(position);
+            this.pieceBitBoards[BitBoards.pieceIndex(piece.getPieceTeam(), piece.getPieceType())] |= square;
+            this.teamBitBoards[piece.getPieceTeam().ordinal()] |= square;
+            allPieces |= square;
         }
-        return Arrays.asList(tiles);
+        return allPieces;
     }
     public static Board createStandardBoard(){
         final Builder builder = new Builder();
         //sets Black team board
-        builder.setPiece(new Rook(Team.BLACK, 0));
-        builder.setPiece(new Knight(Team.BLACK, 1));
-        builder.setPiece(new Bishop(Team.BLACK, 2));
-        builder.setPiece(new Queen(Team.BLACK, 3));
-        builder.setPiece(new King(Team.BLACK, 4, true, true));
-        builder.setPiece(new Bishop(Team.BLACK, 5));
-        builder.setPiece(new Knight(Team.BLACK, 6));
-        builder.setPiece(new Rook(Team.BLACK, 7));
-        builder.setPiece(new Pawn(Team.BLACK, 8));
-        builder.setPiece(new Pawn(Team.BLACK, 9));
-        builder.setPiece(new Pawn(Team.BLACK, 10));
-        builder.setPiece(new Pawn(Team.BLACK, 11));
-        builder.setPiece(new Pawn(Team.BLACK, 12));
-        builder.setPiece(new Pawn(Team.BLACK, 13));
-        builder.setPiece(new Pawn(Team.BLACK, 14));
-        builder.setPiece(new Pawn(Team.BLACK, 15));
+        builder.setPiece(PieceUtils.getRook(Team.BLACK, 0, true));
+        builder.setPiece(PieceUtils.getKnight(Team.BLACK, 1, true));
+        builder.setPiece(PieceUtils.getBishop(Team.BLACK, 2, true));
+        builder.setPiece(PieceUtils.getQueen(Team.BLACK, 3, true));
+        builder.setPiece(PieceUtils.getKing(Team.BLACK, 4, true, false, true, true));
+        builder.setPiece(PieceUtils.getBishop(Team.BLACK, 5, true));
+        builder.setPiece(PieceUtils.getKnight(Team.BLACK, 6, true));
+        builder.setPiece(PieceUtils.getRook(Team.BLACK, 7, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 8, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 9, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 10, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 11, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 12, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 13, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 14, true));
+        builder.setPiece(PieceUtils.getPawn(Team.BLACK, 15, true));
         //sets White team board
-        builder.setPiece(new Pawn(Team.WHITE, 48));
-        builder.setPiece(new Pawn(Team.WHITE, 49));
-        builder.setPiece(new Pawn(Team.WHITE, 50));
-        builder.setPiece(new Pawn(Team.WHITE, 51));
-        builder.setPiece(new Pawn(Team.WHITE, 52));
-        builder.setPiece(new Pawn(Team.WHITE, 53));
-        builder.setPiece(new Pawn(Team.WHITE, 54));
-        builder.setPiece(new Pawn(Team.WHITE, 55));
-        builder.setPiece(new Rook(Team.WHITE, 56));
-        builder.setPiece(new Knight(Team.WHITE, 57));
-        builder.setPiece(new Bishop(Team.WHITE, 58));
-        builder.setPiece(new Queen(Team.WHITE, 59));
-        builder.setPiece(new King(Team.WHITE, 60, true, true));
-        builder.setPiece(new Bishop(Team.WHITE, 61));
-        builder.setPiece(new Knight(Team.WHITE, 62));
-        builder.setPiece(new Rook(Team.WHITE, 63));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 48, true));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 49, true));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 50, true));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 51, true));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 52, true));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 53, true));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 54, true));
+        builder.setPiece(PieceUtils.getPawn(Team.WHITE, 55, true));
+        builder.setPiece(PieceUtils.getRook(Team.WHITE, 56, true));
+        builder.setPiece(PieceUtils.getKnight(Team.WHITE, 57, true));
+        builder.setPiece(PieceUtils.getBishop(Team.WHITE, 58, true));
+        builder.setPiece(PieceUtils.getQueen(Team.WHITE, 59, true));
+        builder.setPiece(PieceUtils.getKing(Team.WHITE, 60, true, false, true, true));
+        builder.setPiece(PieceUtils.getBishop(Team.WHITE, 61, true));
+        builder.setPiece(PieceUtils.getKnight(Team.WHITE, 62, true));
+        builder.setPiece(PieceUtils.getRook(Team.WHITE, 63, true));
         //Makes White start at the beginning of the game.
         builder.setMoveMaker(Team.WHITE);
         return builder.build();
@@ -139,14 +292,16 @@ public class Board {
         return Collections.unmodifiableList(allLegalMoves);
     }
     public static class Builder{
-        Map<Integer,Piece> boardConfig;
+        final Piece[] boardConfig;
         Team nextMoveMaker;
         Pawn enPassantPawn;
+        long zobristKey;
+        boolean isZobristKeySet;
         public Builder(){
-            this.boardConfig = new HashMap<>(32, 1.0f);
+            this.boardConfig = new Piece[BoardUtils.Num_Tiles];
         }
         public Builder setPiece(final Piece piece){
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
             return this;
         }
         public Builder setMoveMaker(final Team nextMoveMaker){
@@ -156,6 +311,11 @@ public class Board {
         public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.isZobristKeySet = true;
+            return this;
+        }
         public Board build(){
             return new Board(this);
         }
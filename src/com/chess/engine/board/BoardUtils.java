@@ -1,4 +1,5 @@
 package com.chess.engine.board;
+import com.chess.engine.player.MoveTransition;
 
 import java.util.*;
 public class BoardUtils {
@@ -18,6 +19,11 @@ public class BoardUtils {
     public static final Map<String, Integer> POSITION_TO_COORDINATE = initialisePositionToCoordinateMap();
     public static final int Num_Tiles = 64;
     public static final int Num_Tiles_Row = 8;
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+    private static final int[] CASTLING_MASK = initialiseCastlingMask();
     private BoardUtils(){
         throw new RuntimeException("Cant Do that");
     }
@@ -59,9 +65,37 @@ public class BoardUtils {
         while(rowNumber % Num_Tiles_Row != 0);
         return row;
     }
+    //Moving from or capturing on a king or rook home square removes the castling rights that piece gave.
+    private static int[] initialiseCastlingMask(){
+        final int[] castlingMask = new int[Num_Tiles];
+        Arrays.fill(castlingMask, WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE |
+                BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingMask[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        castlingMask[63] &= ~WHITE_KING_SIDE_CASTLE;
+        castlingMask[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        castlingMask[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingMask[7] &= ~BLACK_KING_SIDE_CASTLE;
+        castlingMask[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return castlingMask;
+    }
+    public static int updateCastlingRights(final int castlingRights, final int currentCoordinate,
+                                           final int destinationCoordinate){
+        return castlingRights & CASTLING_MASK[currentCoordinate] & CASTLING_MASK[destinationCoordinate];
+    }
     public static boolean isValidTile(final int coordinate) {
         return coordinate >= 0 && coordinate < Num_Tiles;
     }
+    //Plays moves written in coordinate notation such as e2e4 or e7e8q, see Move.MoveFactory.createMove.
+    public static Board playMoves(Board board, final String... moves){
+        for (final String move : moves){
+            final MoveTransition transition = board.currentPlayer().makeMove(Move.MoveFactory.createMove(board, move));
+            if (!transition.getMoveStatus().isDone()){
+                throw new IllegalArgumentException("Illegal move " + move);
+            }
+            board = transition.getTransitionBoard();
+        }
+        return board;
+    }
     public static int getCoordinateAtPosition(final String position){
         return POSITION_TO_COORDINATE.get(position);
     }
@@ -0,0 +1,121 @@
+package com.chess.engine.board;
+//Rook and bishop attacks by magic bitboard lookup. The occupancy on a slider's rays is multiplied by a magic number
+//for that square and the top bits of the product index a table of precomputed attack sets, so a whole slider's
+//attacks take one multiply, one shift and one load. The magics were found offline for this square numbering
+//(a8 is bit 0), filling the tables at class load only walks each ray once per occupancy subset.
+final class MagicBitBoards {
+    private static final long[] ROOK_MAGICS = {
+            0x0080001480244002L, 0x4940200140001000L, 0x0200200880401200L, 0x0900100020F9000CL,
+            0x0100050008001002L, 0x0200100804810200L, 0x0C00120420981001L, 0x8200050210802444L,
+            0x80518001401080A8L, 0x0621002100904002L, 0x0041801000200082L, 0x040B000890010360L,
+            0x0001001004080100L, 0x0107802401120080L, 0x4001010100020004L, 0x0001000224805900L,
+            0x0110208008884008L, 0x8A00808040002000L, 0x0820008080100020L, 0x1400808008001000L,
+            0x8004808008000400L, 0x3000808004000200L, 0x1004040002017008L, 0x210A020000811044L,
+            0x0040400080208000L, 0x0130004140022000L, 0x9800200300410014L, 0x00C5200D00100100L,
+            0x0488001100090184L, 0x2202040801201040L, 0x0B0E820080800100L, 0x200A209200005401L,
+            0x0100804000800020L, 0x2100401101002084L, 0x2000801004802000L, 0x4048400A02001020L,
+            0x041C000801010010L, 0x1000408408012010L, 0x6814021004000108L, 0x8060086092000409L,
+            0xC060204000888000L, 0x4002500220044005L, 0x0020802200420018L, 0x4104081001010020L,
+            0x1020080011010005L, 0x000E000400808002L, 0x0822000104020088L, 0x400014108542000BL,
+            0x8050800040003080L, 0x4200804000200080L, 0x0801260040128200L, 0x0000100008008080L,
+            0x0000040008008080L, 0x4000800400020080L, 0x0400100102088400L, 0xE422040100804200L,
+            0xC004C09100620282L, 0x000014810167C001L, 0x1180200842001082L, 0x0001049001002009L,
+            0x0006001004082002L, 0x4C0A001004080102L, 0x8092002800840142L, 0xA420028504012042L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x4040010404008020L, 0x2290040810484000L, 0x2488022046020092L, 0x0004404081010041L,
+            0x004404224800E020L, 0x0000880441300004L, 0x00028401C8400042L, 0x0000402610104400L,
+            0x0200402901140880L, 0x8500AA0C0104150CL, 0x0000210101020000L, 0x0080244040800000L,
+            0x0004040420480000L, 0x0005620804058800L, 0x8000820084044004L, 0x4040828401211101L,
+            0x00040008B0048800L, 0x0002001002880100L, 0x0013082204040083L, 0x9008028420429088L,
+            0x0004000080E00260L, 0x0805010090089000L, 0x0404800342109002L, 0xE130800428841041L,
+            0x0004404084480800L, 0x801008200D290420L, 0x0000820510002200L, 0x0408080000820002L,
+            0x2209080401004010L, 0x014204080080A001L, 0x4004850202080A28L, 0x00140B0000231132L,
+            0x201128C000200450L, 0x0880900800108200L, 0x0014004418080020L, 0x8000200500080108L,
+            0x2004010200040084L, 0x1020082080004041L, 0x000168008C010C00L, 0x000800418002C21AL,
+            0x040904212000040CL, 0x0214411820000900L, 0x0084222030040802L, 0x020040C200840804L,
+            0x8090C04092000104L, 0x0098011808880200L, 0x0810424484000300L, 0x88100C8302410301L,
+            0x8002513050100600L, 0x00010062122020C0L, 0x0000848048080140L, 0x0000150094140005L,
+            0x8803400803040000L, 0x4000200801084000L, 0x0220820421042002L, 0x12100400A4204006L,
+            0x024300404C200800L, 0x448400450088A000L, 0x0000120820941000L, 0xA008040820411089L,
+            0x0000024008A10100L, 0x0000010811412200L, 0x0592400801011200L, 0x3010600800435540L
+    };
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    private static final long[] ROOK_MASKS = new long[BoardUtils.Num_Tiles];
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.Num_Tiles];
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.Num_Tiles];
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.Num_Tiles];
+    private static final int[] ROOK_OFFSETS = new int[BoardUtils.Num_Tiles];
+    private static final int[] BISHOP_OFFSETS = new int[BoardUtils.Num_Tiles];
+    private static final long[] ROOK_ATTACKS = initAttacks(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+    private static final long[] BISHOP_ATTACKS = initAttacks(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+    private MagicBitBoards(){
+        throw new RuntimeException("Cant Do that");
+    }
+    static long rookAttacks(final int coordinate, final long occupancy){
+        return ROOK_ATTACKS[ROOK_OFFSETS[coordinate] +
+                (int) (((occupancy & ROOK_MASKS[coordinate]) * ROOK_MAGICS[coordinate]) >>> ROOK_SHIFTS[coordinate])];
+    }
+    static long bishopAttacks(final int coordinate, final long occupancy){
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[coordinate] +
+                (int) (((occupancy & BISHOP_MASKS[coordinate]) * BISHOP_MAGICS[coordinate]) >>> BISHOP_SHIFTS[coordinate])];
+    }
+    //Each square gets a slice of one shared table, sized by the number of squares on its rays that can block.
+    private static long[] initAttacks(final int[][] directions, final long[] magics, final long[] masks,
+                                      final int[] shifts, final int[] offsets){
+        int size = 0;
+        for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+            masks[coordinate] = relevantOccupancy(coordinate, directions);
+            shifts[coordinate] = Long.SIZE - BitBoards.count(masks[coordinate]);
+            offsets[coordinate] = size;
+            size += 1 << BitBoards.count(masks[coordinate]);
+        }
+        final long[] attacks = new long[size];
+        for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+            final long mask = masks[coordinate];
+            long occupancy = BitBoards.EMPTY;
+            do {
+                final int index = (int) ((occupancy * magics[coordinate]) >>> shifts[coordinate]);
+                attacks[offsets[coordinate] + index] = slidingAttacks(coordinate, occupancy, directions);
+                occupancy = (occupancy - mask) & mask;
+            } while (occupancy != BitBoards.EMPTY);
+        }
+        return attacks;
+    }
+    //The squares on the rays that can block, leaving out the last square of each ray which is attacked either way.
+    private static long relevantOccupancy(final int coordinate, final int[][] directions){
+        long mask = BitBoards.EMPTY;
+        for (final int[] direction : directions){
+            int row = coordinate / BoardUtils.Num_Tiles_Row + direction[0];
+            int column = coordinate % BoardUtils.Num_Tiles_Row + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])){
+                mask |= BitBoards.squareMask(row * BoardUtils.Num_Tiles_Row + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+    //Walks each ray until it leaves the board or hits a piece, the blocking square is included.
+    private static long slidingAttacks(final int coordinate, final long occupancy, final int[][] directions){
+        long attacks = BitBoards.EMPTY;
+        for (final int[] direction : directions){
+            int row = coordinate / BoardUtils.Num_Tiles_Row + direction[0];
+            int column = coordinate % BoardUtils.Num_Tiles_Row + direction[1];
+            while (isOnBoard(row, column)){
+                final long square = BitBoards.squareMask(row * BoardUtils.Num_Tiles_Row + column);
+                attacks |= square;
+                if ((occupancy & square) != 0){
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+    private static boolean isOnBoard(final int row, final int column){
+        return row >= 0 && row < BoardUtils.Num_Tiles_Row && column >= 0 && column < BoardUtils.Num_Tiles_Row;
+    }
+}
@@ -2,6 +2,7 @@ package com.chess.engine.board;
 import static com.chess.engine.board.Board.*;
 import com.chess.engine.piece.Pawn;
 import com.chess.engine.piece.Piece;
+import com.chess.engine.piece.PieceUtils;
 import com.chess.engine.piece.Rook;
 public abstract class Move {
     protected final Board board;
@@ -77,8 +78,25 @@ public abstract class Move {
         }
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getTeam());
+        builder.setZobristKey(calculateZobristKey(null));
         return builder.build();
     }
+    //Xors out only what this move changes: the moved piece, any captured piece, the side to move,
+    //the castling rights and the en passant file, instead of rehashing every square of the new board.
+    protected long calculateZobristKey(final Pawn enPassantPawn){
+        final int currentCoordinate = this.movedPiece.getPiecePosition();
+        final int castlingRights = this.board.getCastlingRights();
+        long key = this.board.getZobristKey() ^ Zobrist.sideKey();
+        key ^= Zobrist.pieceKey(this.movedPiece) ^
+                Zobrist.pieceKey(this.movedPiece.getPieceTeam(), this.movedPiece.getPieceType(), this.destinedCoordinate);
+        if (isAttack()){
+            key ^= Zobrist.pieceKey(getAttackedPiece());
+        }
+        key ^= Zobrist.enPassantKey(this.board.getEnPassantPawn()) ^ Zobrist.enPassantKey(enPassantPawn);
+        key ^= Zobrist.castlingKey(castlingRights) ^
+                Zobrist.castlingKey(BoardUtils.updateCastlingRights(castlingRights, currentCoordinate, this.destinedCoordinate));
+        return key;
+    }
     public static class MajorMove extends Move{
         public MajorMove(final Board board, final Piece movedPiece, final int destinedCoordinate) {
             super(board, movedPiece, destinedCoordinate);
@@ -191,6 +209,7 @@ public abstract class Move {
             }
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getTeam());
+            builder.setZobristKey(calculateZobristKey(null));
             return builder.build();
         }
     }
@@ -222,8 +241,12 @@ public abstract class Move {
             for (final Piece piece : pawnMovedBoard.currentPlayer().getOpponent().getActivePieces()){
                 builder.setPiece(piece);
             }
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+            final Piece promotionPiece = this.promotedPawn.getPromotionPiece().movePiece(this);
+            builder.setPiece(promotionPiece);
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getTeam());
+            builder.setZobristKey(pawnMovedBoard.getZobristKey() ^
+                    Zobrist.pieceKey(this.promotedPawn.getPieceTeam(), this.promotedPawn.getPieceType(), this.destinedCoordinate) ^
+                    Zobrist.pieceKey(promotionPiece));
             return builder.build();
         }
         @Override
@@ -234,6 +257,9 @@ public abstract class Move {
         public Piece getAttackedPiece(){
             return this.decoratedMove.getAttackedPiece();
         }
+        public Piece getPromotionPiece(){
+            return this.promotedPawn.getPromotionPiece();
+        }
         @Override
         public String toString(){
             return "";
@@ -262,6 +288,7 @@ public abstract class Move {
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getTeam());
+            builder.setZobristKey(calculateZobristKey(movedPawn));
             return builder.build();
         }
         @Override
@@ -303,8 +330,10 @@ public abstract class Move {
                 builder.setPiece(piece);
             }
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRook.getPieceTeam(), this.castleRookDestination));
+            builder.setPiece(PieceUtils.getRook(this.castleRook.getPieceTeam(), this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getTeam());
+            builder.setZobristKey(calculateZobristKey(null) ^ Zobrist.pieceKey(this.castleRook) ^
+                    Zobrist.pieceKey(this.castleRook.getPieceTeam(), this.castleRook.getPieceType(), this.castleRookDestination));
             return builder.build();
         }
         @Override
@@ -384,13 +413,41 @@ public abstract class Move {
         private MoveFactory(){
             throw new RuntimeException("Not instantiatable");
         }
+        //Only the side to move can move, so its legal move index is enough, see Player.getLegalMove.
         public static Move createMove(final Board board, final int currentCoords, final int destinedCoordinate){
-            for(final Move move : board.getAllLegalMoves()){
-                if(move.getCurrentCoords() == currentCoords && move.getDestinationCoords() == destinedCoordinate){
-                    return move;
-                }
+            return board.currentPlayer().getLegalMove(currentCoords, destinedCoordinate);
+        }
+        //Coordinate notation such as e2e4 or e7e8q, the form PackedMove.toCoordinateNotation writes. Anything
+        //that is not a legal move for the side to move, including a missing or wrong promotion piece, is NULL_MOVE.
+        public static Move createMove(final Board board, final String coordinateNotation){
+            if (coordinateNotation.length() != 4 && coordinateNotation.length() != 5){
+                return NULL_MOVE;
             }
-            return NULL_MOVE;
+            final int currentCoords = parseSquare(coordinateNotation, 0);
+            final int destinedCoordinate = parseSquare(coordinateNotation, 2);
+            if (currentCoords == -1 || destinedCoordinate == -1){
+                return NULL_MOVE;
+            }
+            final Move move = createMove(board, currentCoords, destinedCoordinate);
+            final char promotion = coordinateNotation.length() == 5 ? coordinateNotation.charAt(4) : ' ';
+            if (move instanceof PawnPromotion){
+                final String promotionPiece = ((PawnPromotion) move).getPromotionPiece().getPieceType().toString();
+                return promotionPiece.toLowerCase().charAt(0) == promotion ? move : NULL_MOVE;
+            }
+            return promotion == ' ' ? move : NULL_MOVE;
+        }
+        //The square written at index and index + 1, such as e2, or -1 when it is not a square.
+        private static int parseSquare(final String notation, final int index){
+            final int file = notation.charAt(index) - 'a';
+            final int rank = notation.charAt(index + 1) - '1';
+            if (file < 0 || file >= BoardUtils.Num_Tiles_Row || rank < 0 || rank >= BoardUtils.Num_Tiles_Row){
+                return -1;
+            }
+            return (BoardUtils.Num_Tiles_Row - 1 - rank) * BoardUtils.Num_Tiles_Row + file;
+        }
+        //The legal move matching a move packed by the search, see PackedMove.
+        public static Move createMove(final Board board, final int packedMove){
+            return PackedMove.toMove(board, packedMove);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.chess.engine.board;
+import com.chess.engine.piece.Piece;
+import com.chess.engine.piece.Piece.PieceType;
+//A move packed into an int for the search: from square in bits 0-5, to square in 6-11, move type in 12-14 and the
+//captured piece type in 16-18. A promotion is the move type plus the piece it promotes to, so all four promotions
+//fit in the type bits. The low 16 bits alone tell moves of a position apart, which is all a transposition table
+//entry keeps, the captured type rides along so ordering captures needs no board lookup.
+public final class PackedMove {
+    public static final int NO_MOVE = 0;
+    public static final int NO_PIECE_TYPE = -1;
+    public static final int NORMAL_MOVE = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int CASTLE = 3;
+    public static final int PROMOTION = 4;
+    public static final int KEY_MASK = 0xFFFF;
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TYPE_MASK = 0x7;
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int TYPE_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 16;
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private PackedMove(){
+        throw new RuntimeException("Cant Do that");
+    }
+    //The captured type is a PieceType ordinal or NO_PIECE_TYPE, it is stored one higher so zero means no capture.
+    public static int create(final int currentCoordinate, final int destinationCoordinate, final int moveType,
+                             final int capturedType){
+        return currentCoordinate | (destinationCoordinate << DESTINATION_SHIFT) | (moveType << TYPE_SHIFT) |
+                ((capturedType + 1) << CAPTURED_SHIFT);
+    }
+    public static int createPromotion(final int currentCoordinate, final int destinationCoordinate,
+                                      final int promotionType, final int capturedType){
+        return create(currentCoordinate, destinationCoordinate, PROMOTION + promotionType - KNIGHT, capturedType);
+    }
+    public static int getCurrentCoordinate(final int move){
+        return move & SQUARE_MASK;
+    }
+    public static int getDestinationCoordinate(final int move){
+        return (move >>> DESTINATION_SHIFT) & SQUARE_MASK;
+    }
+    //One of NORMAL_MOVE, PAWN_JUMP, EN_PASSANT, CASTLE or PROMOTION, whatever the promotion piece.
+    public static int getMoveType(final int move){
+        return Math.min((move >>> TYPE_SHIFT) & TYPE_MASK, PROMOTION);
+    }
+    public static boolean isPromotion(final int move){
+        return ((move >>> TYPE_SHIFT) & TYPE_MASK) >= PROMOTION;
+    }
+    public static int getPromotionType(final int move){
+        return isPromotion(move) ? ((move >>> TYPE_SHIFT) & TYPE_MASK) - PROMOTION + KNIGHT : NO_PIECE_TYPE;
+    }
+    public static int getCapturedType(final int move){
+        return ((move >>> CAPTURED_SHIFT) & TYPE_MASK) - 1;
+    }
+    public static boolean isCapture(final int move){
+        return (move >>> CAPTURED_SHIFT) != 0;
+    }
+    public static int getKey(final int move){
+        return move & KEY_MASK;
+    }
+    public static int fromMove(final Move move){
+        if (move == Move.NULL_MOVE){
+            return NO_MOVE;
+        }
+        final int capturedType = move.isAttack() ? move.getAttackedPiece().getPieceType().ordinal() : NO_PIECE_TYPE;
+        if (move instanceof Move.PawnPromotion){
+            final Piece promotionPiece = ((Move.PawnPromotion) move).getPromotionPiece();
+            return createPromotion(move.getCurrentCoords(), move.getDestinationCoords(),
+                    promotionPiece.getPieceType().ordinal(), capturedType);
+        }
+        final int moveType = move instanceof Move.PawnJump ? PAWN_JUMP :
+                move instanceof Move.PawnEnPassantAttack ? EN_PASSANT :
+                move.isCastlingMove() ? CASTLE : NORMAL_MOVE;
+        return create(move.getCurrentCoords(), move.getDestinationCoords(), moveType, capturedType);
+    }
+    //Finds the legal Board move that matches so a search result can be played on the GUI board.
+    public static Move toMove(final Board board, final int move){
+        final Move candidate = board.currentPlayer().getLegalMove(getCurrentCoordinate(move),
+                getDestinationCoordinate(move));
+        return candidate != Move.NULL_MOVE && getKey(fromMove(candidate)) == getKey(move) ? candidate : Move.NULL_MOVE;
+    }
+    //Coordinate notation such as e2e4, with the promotion piece in lower case after a promotion, as in e7e8q.
+    public static String toCoordinateNotation(final int move){
+        final String squares = BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+                BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(move));
+        return isPromotion(move) ? squares + PIECE_TYPES[getPromotionType(move)].toString().toLowerCase() : squares;
+    }
+}
@@ -0,0 +1,140 @@
+package com.chess.engine.board;
+import com.chess.engine.Team;
+import com.chess.engine.piece.Piece.PieceType;
+//Bonus or penalty for a piece standing on a square, one table for the middlegame and one for the endgame. The
+//tables are written from White's side with a8 first, the same order as the board squares, and are mirrored for
+//Black. Each piece also counts towards the game phase, which runs from TOTAL_PHASE with all minor and major
+//pieces on the board down to 0, and the two scores are blended by it.
+public final class PieceSquareTables {
+    public static final int TOTAL_PHASE = 24;
+    private static final int[] PAWN_MIDDLEGAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] PAWN_ENDGAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             80,  80,  80,  80,  80,  80,  80,  80,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             30,  30,  30,  30,  30,  30,  30,  30,
+             20,  20,  20,  20,  20,  20,  20,  20,
+             10,  10,  10,  10,  10,  10,  10,  10,
+             10,  10,  10,  10,  10,  10,  10,  10,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+    private static final int[] KING_MIDDLEGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+    //Indexed by PieceType ordinal: pawn, knight, bishop, rook, queen, king.
+    private static final int[][] MIDDLEGAME_BY_TYPE = {PAWN_MIDDLEGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDDLEGAME};
+    private static final int[][] ENDGAME_BY_TYPE = {PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+    private static final int[] PHASE_BY_TYPE = {0, 1, 1, 2, 4, 0};
+    private static final int[][] MIDDLEGAME_SCORES = createScores(MIDDLEGAME_BY_TYPE);
+    private static final int[][] ENDGAME_SCORES = createScores(ENDGAME_BY_TYPE);
+    private static final int[] PIECE_VALUES = new int[BitBoards.Num_Piece_BitBoards];
+    private static final int[] PIECE_PHASES = new int[BitBoards.Num_Piece_BitBoards];
+    static {
+        for (final Team team : Team.values()){
+            for (final PieceType pieceType : PieceType.values()){
+                PIECE_VALUES[BitBoards.pieceIndex(team, pieceType)] = pieceType.getPieceValue();
+                PIECE_PHASES[BitBoards.pieceIndex(team, pieceType)] = PHASE_BY_TYPE[pieceType.ordinal()];
+            }
+        }
+    }
+    private PieceSquareTables(){
+        throw new RuntimeException("Cant Do that");
+    }
+    //One row per piece index so a lookup needs no mirroring, Black reads its table upside down.
+    private static int[][] createScores(final int[][] tablesByType){
+        final int[][] scores = new int[BitBoards.Num_Piece_BitBoards][BoardUtils.Num_Tiles];
+        for (final Team team : Team.values()){
+            for (final PieceType pieceType : PieceType.values()){
+                final int[] table = tablesByType[pieceType.ordinal()];
+                final int[] pieceScores = scores[BitBoards.pieceIndex(team, pieceType)];
+                for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+                    pieceScores[coordinate] = table[team.isWhite() ? coordinate : coordinate ^ 56];
+                }
+            }
+        }
+        return scores;
+    }
+    public static int middlegameScore(final int pieceIndex, final int coordinate){
+        return MIDDLEGAME_SCORES[pieceIndex][coordinate];
+    }
+    public static int endgameScore(final int pieceIndex, final int coordinate){
+        return ENDGAME_SCORES[pieceIndex][coordinate];
+    }
+    public static int pieceValue(final int pieceIndex){
+        return PIECE_VALUES[pieceIndex];
+    }
+    public static int phase(final int pieceIndex){
+        return PIECE_PHASES[pieceIndex];
+    }
+    //Promotions can push the phase past TOTAL_PHASE, it is capped so the blend stays between the two scores.
+    public static int taper(final int middlegameScore, final int endgameScore, final int phase){
+        final int middlegamePhase = Math.min(phase, TOTAL_PHASE);
+        return (middlegameScore * middlegamePhase + endgameScore * (TOTAL_PHASE - middlegamePhase)) / TOTAL_PHASE;
+    }
+}
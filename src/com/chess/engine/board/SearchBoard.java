@@ -0,0 +1,383 @@
+package com.chess.engine.board;
+import com.chess.engine.Team;
+import com.chess.engine.piece.King;
+import com.chess.engine.piece.Pawn;
+import com.chess.engine.piece.Piece;
+import com.chess.engine.piece.Piece.PieceType;
+import java.util.Arrays;
+import static com.chess.engine.board.PackedMove.*;
+//Mutable position used inside the search. Moves are made and unmade in place so searching a node
+//allocates nothing, the GUI keeps working with the immutable Board.
+public final class SearchBoard {
+    public static final int NO_PIECE = -1;
+    public static final int MAX_MOVES = 256;
+    private static final int INITIAL_HISTORY = 8;
+    private static final int NO_SQUARE = -1;
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int KING = PieceType.KING.ordinal();
+    private static final Team[] TEAMS = Team.values();
+    private final long[] pieceBitBoards = new long[BitBoards.Num_Piece_BitBoards];
+    private final long[] teamBitBoards = new long[TEAMS.length];
+    private final int[] squares = new int[BoardUtils.Num_Tiles];
+    private final boolean[] castled = new boolean[TEAMS.length];
+    private final int[] countingMoves = new int[MAX_MOVES];
+    //One entry per move made, grown as the search goes deeper. A board made for one evaluation only ever makes
+    //and unmakes single moves to test legality, so it stays at the initial size.
+    private int[] moveHistory = new int[INITIAL_HISTORY];
+    private int[] capturedHistory = new int[INITIAL_HISTORY];
+    private int[] castlingHistory = new int[INITIAL_HISTORY];
+    private int[] enPassantHistory = new int[INITIAL_HISTORY];
+    private boolean[] castledHistory = new boolean[INITIAL_HISTORY];
+    private long[] keyHistory = new long[INITIAL_HISTORY];
+    private final int[] material = new int[TEAMS.length];
+    private final int[] middlegameScores = new int[TEAMS.length];
+    private final int[] endgameScores = new int[TEAMS.length];
+    private int phase;
+    private long occupancy;
+    private long zobristKey;
+    private long pawnKey;
+    private Team sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int ply;
+    public SearchBoard(final Board board){
+        Arrays.fill(this.squares, NO_PIECE);
+        for (long pieces = board.getOccupancy(); pieces != BitBoards.EMPTY; pieces = BitBoards.clearFirstSquare(pieces)){
+            final Piece piece = board.getPiece(BitBoards.firstSquare(pieces));
+            addPiece(BitBoards.pieceIndex(piece.getPieceTeam(), piece.getPieceType()), piece.getPiecePosition());
+            if (piece instanceof King){
+                this.castled[piece.getPieceTeam().ordinal()] = ((King) piece).isCastled();
+            }
+        }
+        this.sideToMove = board.currentPlayer().getTeam();
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        this.enPassantSquare = enPassantPawn != null ? enPassantPawn.getPiecePosition() : NO_SQUARE;
+        this.castlingRights = board.getCastlingRights();
+        this.zobristKey = board.getZobristKey();
+        this.ply = 0;
+    }
+    public Team getSideToMove(){
+        return this.sideToMove;
+    }
+    public long getOccupancy(){
+        return this.occupancy;
+    }
+    public long getTeamBitBoard(final Team team){
+        return this.teamBitBoards[team.ordinal()];
+    }
+    public long getPieceBitBoard(final Team team, final PieceType pieceType){
+        return this.pieceBitBoards[BitBoards.pieceIndex(team, pieceType)];
+    }
+    public long getZobristKey(){
+        return this.zobristKey;
+    }
+    //Zobrist key of the pawns alone, it changes only when a pawn moves, is captured or promotes.
+    public long getPawnKey(){
+        return this.pawnKey;
+    }
+    //Piece code team.ordinal() * Num_Piece_Types + type.ordinal(), or NO_PIECE for an empty square.
+    public int getPiece(final int coordinate){
+        return this.squares[coordinate];
+    }
+    //Running totals kept up to date by every piece added or removed, so reading them costs nothing.
+    public int getMaterial(final Team team){
+        return this.material[team.ordinal()];
+    }
+    public int getMiddlegameScore(final Team team){
+        return this.middlegameScores[team.ordinal()];
+    }
+    public int getEndgameScore(final Team team){
+        return this.endgameScores[team.ordinal()];
+    }
+    public int getPhase(){
+        return this.phase;
+    }
+    public int getPly(){
+        return this.ply;
+    }
+    public boolean isCastled(final Team team){
+        return this.castled[team.ordinal()];
+    }
+    public boolean isInCheck(final Team team){
+        final long king = this.pieceBitBoards[BitBoards.pieceIndex(team, PieceType.KING)];
+        return king != BitBoards.EMPTY && isSquareAttacked(BitBoards.firstSquare(king), team.opposite());
+    }
+    public boolean isSquareAttacked(final int coordinate, final Team attackingTeam){
+        final int base = attackingTeam.ordinal() * BitBoards.Num_Piece_Types;
+        final long square = BitBoards.squareMask(coordinate);
+        if ((BitBoards.pawnAttacks(attackingTeam.opposite(), square) & this.pieceBitBoards[base + PAWN]) != 0 ||
+                (BitBoards.knightAttacks(coordinate) & this.pieceBitBoards[base + KNIGHT]) != 0 ||
+                (BitBoards.kingAttacks(coordinate) & this.pieceBitBoards[base + KING]) != 0){
+            return true;
+        }
+        final long queens = this.pieceBitBoards[base + QUEEN];
+        return (BitBoards.bishopAttacks(coordinate, this.occupancy) & (this.pieceBitBoards[base + BISHOP] | queens)) != 0 ||
+                (BitBoards.rookAttacks(coordinate, this.occupancy) & (this.pieceBitBoards[base + ROOK] | queens)) != 0;
+    }
+    //Squares the team's pieces attack or its pawns can push to, without the squares of its own pieces. It ignores
+    //pins, checks, castling and double pushes, so it stands in for the legal move count without generating moves.
+    public int countMobility(final Team team){
+        final int base = team.ordinal() * BitBoards.Num_Piece_Types;
+        final long targets = ~this.teamBitBoards[team.ordinal()];
+        final long pawns = this.pieceBitBoards[base + PAWN];
+        final long pushes = team.isWhite() ? pawns >>> BoardUtils.Num_Tiles_Row : pawns << BoardUtils.Num_Tiles_Row;
+        int mobility = BitBoards.count(pushes & ~this.occupancy) +
+                BitBoards.count(BitBoards.pawnAttacks(team, pawns) & this.teamBitBoards[team.opposite().ordinal()]);
+        for (long knights = this.pieceBitBoards[base + KNIGHT]; knights != BitBoards.EMPTY; knights = BitBoards.clearFirstSquare(knights)){
+            mobility += BitBoards.count(BitBoards.knightAttacks(BitBoards.firstSquare(knights)) & targets);
+        }
+        for (long bishops = this.pieceBitBoards[base + BISHOP]; bishops != BitBoards.EMPTY; bishops = BitBoards.clearFirstSquare(bishops)){
+            mobility += BitBoards.count(BitBoards.bishopAttacks(BitBoards.firstSquare(bishops), this.occupancy) & targets);
+        }
+        for (long rooks = this.pieceBitBoards[base + ROOK]; rooks != BitBoards.EMPTY; rooks = BitBoards.clearFirstSquare(rooks)){
+            mobility += BitBoards.count(BitBoards.rookAttacks(BitBoards.firstSquare(rooks), this.occupancy) & targets);
+        }
+        for (long queens = this.pieceBitBoards[base + QUEEN]; queens != BitBoards.EMPTY; queens = BitBoards.clearFirstSquare(queens)){
+            mobility += BitBoards.count(BitBoards.queenAttacks(BitBoards.firstSquare(queens), this.occupancy) & targets);
+        }
+        final long king = this.pieceBitBoards[base + KING];
+        if (king != BitBoards.EMPTY){
+            mobility += BitBoards.count(BitBoards.kingAttacks(BitBoards.firstSquare(king)) & targets);
+        }
+        return mobility;
+    }
+    public int generateLegalMoves(final int[] moves){
+        return generateLegalMoves(this.sideToMove, moves);
+    }
+    public int generateLegalMoves(final Team team, final int[] moves){
+        return filterLegalMoves(team, moves, generatePseudoLegalMoves(team, moves, false));
+    }
+    //Captures, en passant and promotions only, the moves a quiescence search looks at.
+    public int generateLegalCaptures(final int[] moves){
+        return filterLegalMoves(this.sideToMove, moves, generatePseudoLegalMoves(this.sideToMove, moves, true));
+    }
+    //Pseudo legal moves are made and unmade in place, any move that leaves the mover's king attacked is dropped.
+    private int filterLegalMoves(final Team team, final int[] moves, final int pseudoLegalCount){
+        int legalCount = 0;
+        for (int i = 0; i < pseudoLegalCount; i++){
+            final int move = moves[i];
+            makeMove(move);
+            if (!isInCheck(team)){
+                moves[legalCount++] = move;
+            }
+            unmakeMove();
+        }
+        return legalCount;
+    }
+    public int countLegalMoves(final Team team){
+        return generateLegalMoves(team, this.countingMoves);
+    }
+    public void makeMove(final int move){
+        final int current = getCurrentCoordinate(move);
+        final int destination = getDestinationCoordinate(move);
+        final int moveType = getMoveType(move);
+        final int movedPiece = this.squares[current];
+        final Team team = TEAMS[movedPiece / BitBoards.Num_Piece_Types];
+        final int capturedSquare = moveType == EN_PASSANT ? this.enPassantSquare : destination;
+        final int capturedPiece = this.squares[capturedSquare];
+        if (this.ply == this.moveHistory.length){
+            growHistory();
+        }
+        this.moveHistory[this.ply] = move;
+        this.capturedHistory[this.ply] = capturedPiece;
+        this.castlingHistory[this.ply] = this.castlingRights;
+        this.enPassantHistory[this.ply] = this.enPassantSquare;
+        this.castledHistory[this.ply] = this.castled[team.ordinal()];
+        this.keyHistory[this.ply] = this.zobristKey;
+        this.ply++;
+        if (capturedPiece != NO_PIECE){
+            removePiece(capturedPiece, capturedSquare);
+        }
+        removePiece(movedPiece, current);
+        addPiece(moveType == PROMOTION ? team.ordinal() * BitBoards.Num_Piece_Types + getPromotionType(move) : movedPiece,
+                destination);
+        if (moveType == CASTLE){
+            final int rook = BitBoards.pieceIndex(team, PieceType.ROOK);
+            removePiece(rook, castleRookStart(destination));
+            addPiece(rook, castleRookDestination(destination));
+            this.castled[team.ordinal()] = true;
+        }
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare);
+        this.castlingRights = BoardUtils.updateCastlingRights(this.castlingRights, current, destination);
+        this.enPassantSquare = moveType == PAWN_JUMP ? destination : NO_SQUARE;
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare) ^
+                Zobrist.sideKey();
+        this.sideToMove = this.sideToMove.opposite();
+    }
+    private void growHistory(){
+        final int capacity = this.moveHistory.length * 2;
+        this.moveHistory = Arrays.copyOf(this.moveHistory, capacity);
+        this.capturedHistory = Arrays.copyOf(this.capturedHistory, capacity);
+        this.castlingHistory = Arrays.copyOf(this.castlingHistory, capacity);
+        this.enPassantHistory = Arrays.copyOf(this.enPassantHistory, capacity);
+        this.castledHistory = Arrays.copyOf(this.castledHistory, capacity);
+        this.keyHistory = Arrays.copyOf(this.keyHistory, capacity);
+    }
+    public void unmakeMove(){
+        this.ply--;
+        final int move = this.moveHistory[this.ply];
+        final int current = getCurrentCoordinate(move);
+        final int destination = getDestinationCoordinate(move);
+        final int moveType = getMoveType(move);
+        final int capturedPiece = this.capturedHistory[this.ply];
+        final int movedPiece = this.squares[destination];
+        final Team team = TEAMS[movedPiece / BitBoards.Num_Piece_Types];
+        this.enPassantSquare = this.enPassantHistory[this.ply];
+        this.castlingRights = this.castlingHistory[this.ply];
+        this.castled[team.ordinal()] = this.castledHistory[this.ply];
+        removePiece(movedPiece, destination);
+        addPiece(moveType == PROMOTION ? BitBoards.pieceIndex(team, PieceType.PAWN) : movedPiece, current);
+        if (moveType == CASTLE){
+            final int rook = BitBoards.pieceIndex(team, PieceType.ROOK);
+            removePiece(rook, castleRookDestination(destination));
+            addPiece(rook, castleRookStart(destination));
+        }
+        if (capturedPiece != NO_PIECE){
+            addPiece(capturedPiece, moveType == EN_PASSANT ? this.enPassantSquare : destination);
+        }
+        this.zobristKey = this.keyHistory[this.ply];
+        this.sideToMove = this.sideToMove.opposite();
+    }
+    private int generatePseudoLegalMoves(final Team team, final int[] moves, final boolean capturesOnly){
+        final int base = team.ordinal() * BitBoards.Num_Piece_Types;
+        final long targets = capturesOnly ? this.teamBitBoards[team.opposite().ordinal()] : ~this.teamBitBoards[team.ordinal()];
+        int count = generatePawnMoves(team, moves, 0, capturesOnly);
+        for (long knights = this.pieceBitBoards[base + KNIGHT]; knights != BitBoards.EMPTY; knights = BitBoards.clearFirstSquare(knights)){
+            final int current = BitBoards.firstSquare(knights);
+            count = addMoves(current, BitBoards.knightAttacks(current) & targets, moves, count);
+        }
+        for (long bishops = this.pieceBitBoards[base + BISHOP]; bishops != BitBoards.EMPTY; bishops = BitBoards.clearFirstSquare(bishops)){
+            final int current = BitBoards.firstSquare(bishops);
+            count = addMoves(current, BitBoards.bishopAttacks(current, this.occupancy) & targets, moves, count);
+        }
+        for (long rooks = this.pieceBitBoards[base + ROOK]; rooks != BitBoards.EMPTY; rooks = BitBoards.clearFirstSquare(rooks)){
+            final int current = BitBoards.firstSquare(rooks);
+            count = addMoves(current, BitBoards.rookAttacks(current, this.occupancy) & targets, moves, count);
+        }
+        for (long queens = this.pieceBitBoards[base + QUEEN]; queens != BitBoards.EMPTY; queens = BitBoards.clearFirstSquare(queens)){
+            final int current = BitBoards.firstSquare(queens);
+            count = addMoves(current, BitBoards.queenAttacks(current, this.occupancy) & targets, moves, count);
+        }
+        final long king = this.pieceBitBoards[base + KING];
+        if (king != BitBoards.EMPTY){
+            final int current = BitBoards.firstSquare(king);
+            count = addMoves(current, BitBoards.kingAttacks(current) & targets, moves, count);
+            if (!capturesOnly){
+                count = generateCastleMoves(team, current, moves, count);
+            }
+        }
+        return count;
+    }
+    private int generatePawnMoves(final Team team, final int[] moves, int count, final boolean capturesOnly){
+        final long enemyPieces = this.teamBitBoards[team.opposite().ordinal()];
+        final long startRow = team.isWhite() ? BitBoards.RANK_2 : BitBoards.RANK_7;
+        final int forward = team.getDirection() * BoardUtils.Num_Tiles_Row;
+        for (long pawns = this.pieceBitBoards[BitBoards.pieceIndex(team, PieceType.PAWN)];
+             pawns != BitBoards.EMPTY; pawns = BitBoards.clearFirstSquare(pawns)){
+            final int current = BitBoards.firstSquare(pawns);
+            final long pawn = BitBoards.squareMask(current);
+            final int destination = current + forward;
+            final boolean isPromotion = team.isPawnPromotionSquare(destination);
+            if (!BitBoards.isOccupied(this.occupancy, destination) && (!capturesOnly || isPromotion)){
+                moves[count++] = isPromotion ? createPromotion(current, destination, QUEEN, NO_PIECE_TYPE) :
+                        create(current, destination, NORMAL_MOVE, NO_PIECE_TYPE);
+                if (!capturesOnly && (pawn & startRow) != 0 && !BitBoards.isOccupied(this.occupancy, destination + forward)){
+                    moves[count++] = create(current, destination + forward, PAWN_JUMP, NO_PIECE_TYPE);
+                }
+            }
+            for (long attacks = BitBoards.pawnAttacks(team, pawn) & enemyPieces;
+                 attacks != BitBoards.EMPTY; attacks = BitBoards.clearFirstSquare(attacks)){
+                final int attacked = BitBoards.firstSquare(attacks);
+                moves[count++] = team.isPawnPromotionSquare(attacked) ?
+                        createPromotion(current, attacked, QUEEN, capturedType(attacked)) :
+                        create(current, attacked, NORMAL_MOVE, capturedType(attacked));
+            }
+            if (this.enPassantSquare != NO_SQUARE &&
+                    BitBoards.isOccupied(this.teamBitBoards[team.opposite().ordinal()], this.enPassantSquare)){
+                final int behindPawn = this.enPassantSquare + forward;
+                if ((BitBoards.pawnAttacks(team, pawn) & BitBoards.squareMask(behindPawn)) != 0){
+                    moves[count++] = create(current, behindPawn, EN_PASSANT, PAWN);
+                }
+            }
+        }
+        return count;
+    }
+    //Mirrors WhitePlayer and BlackPlayer: the squares between king and rook are empty, the king is not in check
+    //and the squares it passes over are not attacked.
+    private int generateCastleMoves(final Team team, final int kingCoordinate, final int[] moves, int count){
+        final int kingSide = team.isWhite() ? BoardUtils.WHITE_KING_SIDE_CASTLE : BoardUtils.BLACK_KING_SIDE_CASTLE;
+        final int queenSide = team.isWhite() ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0 || isSquareAttacked(kingCoordinate, team.opposite())){
+            return count;
+        }
+        if ((this.castlingRights & kingSide) != 0 &&
+                !BitBoards.isOccupied(this.occupancy, kingCoordinate + 1) &&
+                !BitBoards.isOccupied(this.occupancy, kingCoordinate + 2) &&
+                !isSquareAttacked(kingCoordinate + 1, team.opposite()) &&
+                !isSquareAttacked(kingCoordinate + 2, team.opposite())){
+            moves[count++] = create(kingCoordinate, kingCoordinate + 2, CASTLE, NO_PIECE_TYPE);
+        }
+        if ((this.castlingRights & queenSide) != 0 &&
+                !BitBoards.isOccupied(this.occupancy, kingCoordinate - 1) &&
+                !BitBoards.isOccupied(this.occupancy, kingCoordinate - 2) &&
+                !BitBoards.isOccupied(this.occupancy, kingCoordinate - 3) &&
+                !isSquareAttacked(kingCoordinate - 1, team.opposite()) &&
+                !isSquareAttacked(kingCoordinate - 2, team.opposite())){
+            moves[count++] = create(kingCoordinate, kingCoordinate - 2, CASTLE, NO_PIECE_TYPE);
+        }
+        return count;
+    }
+    private int addMoves(final int current, long destinations, final int[] moves, int count){
+        for (; destinations != BitBoards.EMPTY; destinations = BitBoards.clearFirstSquare(destinations)){
+            final int destination = BitBoards.firstSquare(destinations);
+            moves[count++] = create(current, destination, NORMAL_MOVE, capturedType(destination));
+        }
+        return count;
+    }
+    private int capturedType(final int coordinate){
+        final int piece = this.squares[coordinate];
+        return piece != NO_PIECE ? piece % BitBoards.Num_Piece_Types : NO_PIECE_TYPE;
+    }
+    private void addPiece(final int piece, final int coordinate){
+        final long square = BitBoards.squareMask(coordinate);
+        final int team = piece / BitBoards.Num_Piece_Types;
+        this.squares[coordinate] = piece;
+        this.zobristKey ^= Zobrist.pieceKey(piece, coordinate);
+        if (piece % BitBoards.Num_Piece_Types == PAWN){
+            this.pawnKey ^= Zobrist.pieceKey(piece, coordinate);
+        }
+        this.pieceBitBoards[piece] |= square;
+        this.teamBitBoards[team] |= square;
+        this.occupancy |= square;
+        this.material[team] += PieceSquareTables.pieceValue(piece);
+        this.middlegameScores[team] += PieceSquareTables.middlegameScore(piece, coordinate);
+        this.endgameScores[team] += PieceSquareTables.endgameScore(piece, coordinate);
+        this.phase += PieceSquareTables.phase(piece);
+    }
+    private void removePiece(final int piece, final int coordinate){
+        final long square = ~BitBoards.squareMask(coordinate);
+        final int team = piece / BitBoards.Num_Piece_Types;
+        this.squares[coordinate] = NO_PIECE;
+        this.zobristKey ^= Zobrist.pieceKey(piece, coordinate);
+        if (piece % BitBoards.Num_Piece_Types == PAWN){
+            this.pawnKey ^= Zobrist.pieceKey(piece, coordinate);
+        }
+        this.pieceBitBoards[piece] &= square;
+        this.teamBitBoards[team] &= square;
+        this.occupancy &= square;
+        this.material[team] -= PieceSquareTables.pieceValue(piece);
+        this.middlegameScores[team] -= PieceSquareTables.middlegameScore(piece, coordinate);
+        this.endgameScores[team] -= PieceSquareTables.endgameScore(piece, coordinate);
+        this.phase -= PieceSquareTables.phase(piece);
+    }
+    private static int castleRookStart(final int kingDestination){
+        return kingDestination % BoardUtils.Num_Tiles_Row == 6 ? kingDestination + 1 : kingDestination - 2;
+    }
+    private static int castleRookDestination(final int kingDestination){
+        return kingDestination % BoardUtils.Num_Tiles_Row == 6 ? kingDestination - 1 : kingDestination + 1;
+    }
+}
@@ -1,21 +1,18 @@
 package com.chess.engine.board;
 import com.chess.engine.piece.Piece;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 public abstract class Tile {
     protected final int TileCoordinate;
     //protected means it can only be accessed by sub classes and final means it is only set here
-    private static final Map<Integer, EmptyTile> Empty_Tiles = createAllPossibleEmptyTiles();
-    private static Map<Integer, EmptyTile> createAllPossibleEmptyTiles() {
-        final Map<Integer, EmptyTile> emptyTileMap = new HashMap<>();
+    private static final EmptyTile[] Empty_Tiles = createAllPossibleEmptyTiles();
+    private static EmptyTile[] createAllPossibleEmptyTiles() {
+        final EmptyTile[] emptyTiles = new EmptyTile[BoardUtils.Num_Tiles];
         for (int i = 0; i < BoardUtils.Num_Tiles; i++){
-            emptyTileMap.put(i, new EmptyTile(i));
+            emptyTiles[i] = new EmptyTile(i);
         }
-        return Collections.unmodifiableMap(emptyTileMap);
+        return emptyTiles;
     }
     public static Tile createTile(final int TileCoordinate, final Piece piece){
-        return piece != null ? new OccupiedTile(TileCoordinate, piece): Empty_Tiles.get(TileCoordinate);
+        return piece != null ? new OccupiedTile(TileCoordinate, piece): Empty_Tiles[TileCoordinate];
     }
     private Tile(final int TileCoordinate){
         this.TileCoordinate = TileCoordinate;
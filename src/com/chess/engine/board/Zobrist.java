@@ -0,0 +1,64 @@
+package com.chess.engine.board;
+import com.chess.engine.Team;
+import com.chess.engine.piece.Pawn;
+import com.chess.engine.piece.Piece;
+import java.util.Random;
+//Random keys for every piece on every square plus side to move, castling rights and en passant file.
+//A position key is the xor of the keys that apply to it, so a move only xors out what it changes.
+public final class Zobrist {
+    private static final long SEED = 0x5EED_C4E55L;
+    private static final long[][] PIECE_KEYS = new long[BitBoards.Num_Piece_BitBoards][BoardUtils.Num_Tiles];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.Num_Tiles_Row];
+    private static final long BLACK_TO_MOVE_KEY;
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS){
+            for (int i = 0; i < pieceKeys.length; i++){
+                pieceKeys[i] = random.nextLong();
+            }
+        }
+        for (int i = 1; i < CASTLING_KEYS.length; i++){
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++){
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+    private Zobrist(){
+        throw new RuntimeException("Not instantiable");
+    }
+    public static long pieceKey(final int pieceIndex, final int tileCoordinate){
+        return PIECE_KEYS[pieceIndex][tileCoordinate];
+    }
+    public static long pieceKey(final Team team, final Piece.PieceType pieceType, final int tileCoordinate){
+        return PIECE_KEYS[BitBoards.pieceIndex(team, pieceType)][tileCoordinate];
+    }
+    public static long pieceKey(final Piece piece){
+        return pieceKey(piece.getPieceTeam(), piece.getPieceType(), piece.getPiecePosition());
+    }
+    public static long castlingKey(final int castlingRights){
+        return CASTLING_KEYS[castlingRights];
+    }
+    public static long enPassantKey(final int pawnCoordinate){
+        return pawnCoordinate < 0 ? 0L : EN_PASSANT_KEYS[pawnCoordinate % BoardUtils.Num_Tiles_Row];
+    }
+    public static long enPassantKey(final Pawn enPassantPawn){
+        return enPassantPawn == null ? 0L : enPassantKey(enPassantPawn.getPiecePosition());
+    }
+    public static long sideKey(){
+        return BLACK_TO_MOVE_KEY;
+    }
+    //Full recalculation, only needed for boards that were not reached by executing a move.
+    public static long calculateKey(final Board board){
+        long key = 0L;
+        for (long pieces = board.getOccupancy(); pieces != BitBoards.EMPTY; pieces = BitBoards.clearFirstSquare(pieces)){
+            key ^= pieceKey(board.getPiece(BitBoards.firstSquare(pieces)));
+        }
+        if (board.currentPlayer().getTeam().isBlack()){
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key ^ castlingKey(board.getCastlingRights()) ^ enPassantKey(board.getEnPassantPawn());
+    }
+}
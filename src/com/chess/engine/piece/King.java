@@ -1,29 +1,19 @@
 package com.chess.engine.piece;
 import com.chess.engine.Team;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import static com.chess.engine.board.Move.*;
 public class King extends Piece{
-    private final static int[] Candidate_Move_Coordinates = {-9,-8,-7,-1,1,7,8,9};
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
-    public King(final Team pieceTeam, final int piecePosition, final boolean kingSideCastleCapable,
-                final boolean queenSideCastleCapable) {
-        super(PieceType.KING, piecePosition, pieceTeam, true);
-        this.isCastled = false;
-        this.kingSideCastleCapable = kingSideCastleCapable;
-        this.queenSideCastleCapable = queenSideCastleCapable;
-    }
-    public King(final Team pieceTeam, final int piecePosition, final boolean isFirstMove, final boolean isCastled,
-                final boolean kingSideCastleCapable,
-                final boolean queenSideCastleCapable) {
+    King(final Team pieceTeam, final int piecePosition, final boolean isFirstMove, final boolean isCastled,
+         final boolean kingSideCastleCapable, final boolean queenSideCastleCapable) {
         super(PieceType.KING, piecePosition, pieceTeam, isFirstMove);
         this.isCastled = isCastled;
         this.kingSideCastleCapable = kingSideCastleCapable;
@@ -38,44 +28,29 @@ public class King extends Piece{
     public boolean isQueenSideCastleCapable(){
         return this.queenSideCastleCapable;
     }
+    //Destinations come from the precomputed king table, the squares of the own pieces are masked out.
     @Override
-    public Collection<Move> calcLegalMoves(Board board) {
+    public Collection<Move> calcLegalMoves(final Board board){
         final List<Move> LegalMoves = new ArrayList<>();
-        for(final int currentCandidateOffset : Candidate_Move_Coordinates){
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if(FirstColumnExclusion(this.piecePosition,currentCandidateOffset) ||
-                    EighthColumnExclusion(this.piecePosition, currentCandidateOffset)){
-                continue;
-            }
-            if(BoardUtils.isValidTile(candidateDestinationCoordinate)){
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if(!candidateDestinationTile.isTileOccupied()){
-                    LegalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                }
-                else{
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Team PieceTeam = pieceAtDestination.getPieceTeam();
-                    if(this.pieceTeam != PieceTeam){
-                        LegalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                    }
-                }
+        for (long destinations = BitBoards.kingAttacks(this.piecePosition) & ~board.getTeamBitBoard(this.pieceTeam);
+             destinations != BitBoards.EMPTY; destinations = BitBoards.clearFirstSquare(destinations)){
+            final int candidateDestinationCoordinate = BitBoards.firstSquare(destinations);
+            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+            if (pieceAtDestination == null){
+                LegalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+            } else {
+                LegalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
             }
         }
         return Collections.unmodifiableList(LegalMoves);
     }
     @Override
     public King movePiece(final Move move) {
-        return new King(move.getMovedPiece().pieceTeam, move.getDestinationCoords(),
-                false, move.isCastlingMove(), false, false);
+        return PieceUtils.getKing(move.getMovedPiece().pieceTeam, move.getDestinationCoords(),
+                false, move.isCastlingMove() || ((King) move.getMovedPiece()).isCastled(), false, false);
     }
     @Override
     public String toString(){
         return PieceType.KING.toString();
     }
-    private static boolean FirstColumnExclusion(final int currentPosition, final int candidatePosition){
-        return BoardUtils.First_Column[currentPosition] && ((candidatePosition == -9) || (candidatePosition == -1) || (candidatePosition == 7));
-    }
-    private static boolean EighthColumnExclusion(final int currentPosition, final int candidatePosition){
-        return BoardUtils.Eighth_Column[currentPosition] && ((candidatePosition == -7) || (candidatePosition == 1) || (candidatePosition ==9));
-    }
 }
\ No newline at end of file
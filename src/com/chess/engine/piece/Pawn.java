@@ -10,10 +10,7 @@ import java.util.List;
 import static com.chess.engine.board.Move.*;
 public class Pawn extends Piece{
     private final static int[] Candidate_Move_Coordinates = {7,8,9,16};
-    public Pawn(final Team pieceTeam, final int piecePosition) {
-        super(PieceType.PAWN, piecePosition, pieceTeam, true);
-    }
-    public Pawn(final Team pieceTeam, final int piecePosition, final boolean isFirstMove) {
+    Pawn(final Team pieceTeam, final int piecePosition, final boolean isFirstMove) {
         super(PieceType.PAWN, piecePosition, pieceTeam, isFirstMove);
     }
     @Override
@@ -24,7 +21,7 @@ public class Pawn extends Piece{
             if (!BoardUtils.isValidTile(candidateDestinationCoordinate)) {
                 continue;
             }
-            if (currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
+            if (currentCandidateOffset == 8 && board.getPiece(candidateDestinationCoordinate) == null) {
                 if (this.pieceTeam.isPawnPromotionSquare(candidateDestinationCoordinate)) {
                     LegalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
                 } else {
@@ -34,14 +31,14 @@ public class Pawn extends Piece{
                     ((BoardUtils.Seventh_Row[this.piecePosition] && this.getPieceTeam().isBlack()) ||
                             (BoardUtils.Second_Row[this.piecePosition] && this.getPieceTeam().isWhite()))) {
                 final int behindCandidateCoordinate = this.piecePosition + (this.pieceTeam.getDirection() * 8);
-                if (!board.getTile(behindCandidateCoordinate).isTileOccupied() && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
+                if (board.getPiece(behindCandidateCoordinate) == null && board.getPiece(candidateDestinationCoordinate) == null) {
                     LegalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
                 }
             } else if (currentCandidateOffset == 7 &&
                     !((BoardUtils.Eighth_Column[this.piecePosition] && this.pieceTeam.isWhite() ||
                             (BoardUtils.First_Column[this.piecePosition] && this.pieceTeam.isBlack())))) {
-                if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
+                if (board.getPiece(candidateDestinationCoordinate) != null) {
+                    final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
                     if (this.pieceTeam != pieceOnCandidate.getPieceTeam()) {
                         if (this.pieceTeam.isPawnPromotionSquare(candidateDestinationCoordinate)) {
                             LegalMoves.add(new PawnPromotion(new PawnAttack(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
@@ -61,8 +58,8 @@ public class Pawn extends Piece{
             else if (currentCandidateOffset == 9 &&
                     !((BoardUtils.First_Column[this.piecePosition] && this.pieceTeam.isWhite() ||
                             (BoardUtils.Eighth_Column[this.piecePosition] && this.pieceTeam.isBlack())))) {
-                if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
+                if (board.getPiece(candidateDestinationCoordinate) != null) {
+                    final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
                     if (pieceOnCandidate != null && this.pieceTeam != pieceOnCandidate.getPieceTeam()) {
                         if (this.pieceTeam.isPawnPromotionSquare(candidateDestinationCoordinate)) {
                             LegalMoves.add(new PawnPromotion(new PawnAttack(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
@@ -90,9 +87,9 @@ public class Pawn extends Piece{
     }
     @Override
     public Pawn movePiece(final Move move) {
-        return new Pawn(move.getMovedPiece().pieceTeam, move.getDestinationCoords());
+        return PieceUtils.getPawn(move.getMovedPiece().pieceTeam, move.getDestinationCoords(), false);
     }
     public Piece getPromotionPiece(){
-        return new Queen(this.pieceTeam, this.piecePosition, false);
+        return PieceUtils.getQueen(this.pieceTeam, this.piecePosition, false);
     }
 }
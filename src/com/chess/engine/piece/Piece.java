@@ -26,17 +26,12 @@ public abstract class Piece {
         result = 31 * result + (isFirstMove ? 1 : 0);
         return result;
     }
+    //Pieces are only created by PieceUtils, once for each type, team, square and set of flags, so equal pieces
+    //are the same object. The hash code stays computed from the fields, which keeps hashed collections of pieces
+    //in the same order from one run to the next.
     @Override
     public boolean equals(final Object other){
-        if (this == other){
-            return true;
-        }
-        if(!(other instanceof Piece)){
-            return false;
-        }
-        final Piece otherPiece = (Piece) other;
-        return this.piecePosition == otherPiece.piecePosition && this.pieceType == otherPiece.pieceType &&
-                this.pieceTeam == otherPiece.pieceTeam && this.isFirstMove == otherPiece.isFirstMove;
+        return this == other;
     }
     @Override
     public int hashCode(){
@@ -0,0 +1,61 @@
+package com.chess.engine.piece;
+import com.chess.engine.Team;
+import com.chess.engine.board.BoardUtils;
+//Every piece that can stand on the board, created once when the class loads. A piece is immutable and only
+//its team, square and flags tell it apart, so moving one just picks the instance for the new square and two
+//pieces are equal exactly when they are the same object.
+public final class PieceUtils {
+    private static final int NUM_TEAMS = Team.values().length;
+    private static final int KING_FLAGS = 16;
+    private static final Pawn[] PAWNS = new Pawn[NUM_TEAMS * BoardUtils.Num_Tiles * 2];
+    private static final Knight[] KNIGHTS = new Knight[NUM_TEAMS * BoardUtils.Num_Tiles * 2];
+    private static final Bishop[] BISHOPS = new Bishop[NUM_TEAMS * BoardUtils.Num_Tiles * 2];
+    private static final Rook[] ROOKS = new Rook[NUM_TEAMS * BoardUtils.Num_Tiles * 2];
+    private static final Queen[] QUEENS = new Queen[NUM_TEAMS * BoardUtils.Num_Tiles * 2];
+    private static final King[] KINGS = new King[NUM_TEAMS * BoardUtils.Num_Tiles * KING_FLAGS];
+    static {
+        for (final Team team : Team.values()){
+            for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+                for (final boolean isFirstMove : new boolean[]{false, true}){
+                    final int index = index(team, coordinate, isFirstMove);
+                    PAWNS[index] = new Pawn(team, coordinate, isFirstMove);
+                    KNIGHTS[index] = new Knight(team, coordinate, isFirstMove);
+                    BISHOPS[index] = new Bishop(team, coordinate, isFirstMove);
+                    ROOKS[index] = new Rook(team, coordinate, isFirstMove);
+                    QUEENS[index] = new Queen(team, coordinate, isFirstMove);
+                }
+                for (int flags = 0; flags < KING_FLAGS; flags++){
+                    KINGS[(team.ordinal() * BoardUtils.Num_Tiles + coordinate) * KING_FLAGS + flags] = new King(team,
+                            coordinate, (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0, (flags & 8) != 0);
+                }
+            }
+        }
+    }
+    private PieceUtils(){
+        throw new RuntimeException("Cant Do that");
+    }
+    public static Pawn getPawn(final Team team, final int coordinate, final boolean isFirstMove){
+        return PAWNS[index(team, coordinate, isFirstMove)];
+    }
+    public static Knight getKnight(final Team team, final int coordinate, final boolean isFirstMove){
+        return KNIGHTS[index(team, coordinate, isFirstMove)];
+    }
+    public static Bishop getBishop(final Team team, final int coordinate, final boolean isFirstMove){
+        return BISHOPS[index(team, coordinate, isFirstMove)];
+    }
+    public static Rook getRook(final Team team, final int coordinate, final boolean isFirstMove){
+        return ROOKS[index(team, coordinate, isFirstMove)];
+    }
+    public static Queen getQueen(final Team team, final int coordinate, final boolean isFirstMove){
+        return QUEENS[index(team, coordinate, isFirstMove)];
+    }
+    public static King getKing(final Team team, final int coordinate, final boolean isFirstMove, final boolean isCastled,
+                               final boolean kingSideCastleCapable, final boolean queenSideCastleCapable){
+        final int flags = (isFirstMove ? 1 : 0) | (isCastled ? 2 : 0) | (kingSideCastleCapable ? 4 : 0) |
+                (queenSideCastleCapable ? 8 : 0);
+        return KINGS[(team.ordinal() * BoardUtils.Num_Tiles + coordinate) * KING_FLAGS + flags];
+    }
+    private static int index(final Team team, final int coordinate, final boolean isFirstMove){
+        return (team.ordinal() * BoardUtils.Num_Tiles + coordinate) * 2 + (isFirstMove ? 1 : 0);
+    }
+}
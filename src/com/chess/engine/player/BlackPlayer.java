@@ -2,7 +2,6 @@ package com.chess.engine.player;
 import com.chess.engine.Team;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import com.chess.engine.piece.*;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -10,9 +9,8 @@ import java.util.Collections;
 import java.util.List;
 import static com.chess.engine.board.Move.*;
 public class BlackPlayer extends Player{
-    public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
     @Override
     public Collection<Piece> getActivePieces() {
@@ -27,39 +25,38 @@ public class BlackPlayer extends Player{
         return this.board.whitePlayer();
     }
     @Override
-    protected Collection<Move> calculateKingCastle(final Collection<Move> playerLegals,
-                                                   final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastle() {
         final List<Move> kingCastle = new ArrayList<>();
         if (this.playerKing.isFirstMove() && !this.isInCheck()){
             //Black side castling.
-            if (!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()){
-                final Tile rookTile = this.board.getTile(7);
-                if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()){
-                    if (Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
-                            rookTile.getPiece().getPieceType().isRook()) {
+            if (this.board.getPiece(5) == null && this.board.getPiece(6) == null){
+                final Piece rook = this.board.getPiece(7);
+                if(rook != null && rook.isFirstMove()){
+                    if (!this.board.isSquareAttacked(5, Team.WHITE) &&
+                            !this.board.isSquareAttacked(6, Team.WHITE) &&
+                            rook.getPieceType().isRook()) {
                         kingCastle.add(new KingSideCastleMove(this.board,
                                 this.playerKing,
                                 6,
-                                (Rook) rookTile.getPiece(),
-                                rookTile.getTileCoordinate(),
+                                (Rook) rook,
+                                rook.getPiecePosition(),
                                 5));
                     }
                 }
             }
-            if (!this.board.getTile(1).isTileOccupied() && !this.board.getTile(2).isTileOccupied() &&
-                    !this.board.getTile(3).isTileOccupied()){
-                final Tile rookTile = this.board.getTile(0);
-                if(rookTile.isTileOccupied() &&
-                        rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(2,opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()){
+            if (this.board.getPiece(1) == null && this.board.getPiece(2) == null &&
+                    this.board.getPiece(3) == null){
+                final Piece rook = this.board.getPiece(0);
+                if(rook != null &&
+                        rook.isFirstMove() &&
+                        !this.board.isSquareAttacked(2, Team.WHITE) &&
+                        !this.board.isSquareAttacked(3, Team.WHITE) &&
+                        rook.getPieceType().isRook()){
                     kingCastle.add(new QueenSideCastleMove(this.board,
                             this.playerKing,
                             2,
-                            (Rook) rookTile.getPiece(),
-                            rookTile.getTileCoordinate(),
+                            (Rook) rook,
+                            rook.getPiecePosition(),
                             3));
                 }
             }
@@ -0,0 +1,45 @@
+package com.chess.engine.player;
+public enum GameStatus {
+    ONGOING{
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+        @Override
+        public boolean isInCheck() {
+            return false;
+        }
+    },
+    CHECK{
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+        @Override
+        public boolean isInCheck() {
+            return true;
+        }
+    },
+    CHECKMATE{
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+        @Override
+        public boolean isInCheck() {
+            return true;
+        }
+    },
+    STALEMATE{
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+        @Override
+        public boolean isInCheck() {
+            return false;
+        }
+    };
+    public abstract boolean isGameOver();
+    public abstract boolean isInCheck();
+}
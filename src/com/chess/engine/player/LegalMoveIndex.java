@@ -0,0 +1,42 @@
+package com.chess.engine.player;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import java.util.Collection;
+//The legal moves of one player looked up by from and to square. A bit per destination is kept for every from
+//square, and the moves sit in one array in from/to order, so a move's slot is the number of moves on earlier
+//from squares plus the destinations set below it. Promotions are to a queen only, so from and to name one move.
+final class LegalMoveIndex {
+    private final long[] destinations = new long[BoardUtils.Num_Tiles];
+    private final int[] offsets = new int[BoardUtils.Num_Tiles + 1];
+    private final Move[] moves;
+    LegalMoveIndex(final Collection<Move> legalMoves){
+        for (final Move move : legalMoves){
+            this.destinations[move.getCurrentCoords()] |= BitBoards.squareMask(move.getDestinationCoords());
+        }
+        for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+            this.offsets[coordinate + 1] = this.offsets[coordinate] + BitBoards.count(this.destinations[coordinate]);
+        }
+        this.moves = new Move[this.offsets[BoardUtils.Num_Tiles]];
+        for (final Move move : legalMoves){
+            this.moves[slot(move.getCurrentCoords(), move.getDestinationCoords())] = move;
+        }
+    }
+    private int slot(final int currentCoordinate, final int destinationCoordinate){
+        final long destinationsBelow = this.destinations[currentCoordinate] &
+                (BitBoards.squareMask(destinationCoordinate) - 1);
+        return this.offsets[currentCoordinate] + BitBoards.count(destinationsBelow);
+    }
+    //The legal move between the two squares, or null when there is none.
+    Move getMove(final int currentCoordinate, final int destinationCoordinate){
+        if (!BoardUtils.isValidTile(currentCoordinate) || !BoardUtils.isValidTile(destinationCoordinate) ||
+                !BitBoards.isOccupied(this.destinations[currentCoordinate], destinationCoordinate)){
+            return null;
+        }
+        return this.moves[slot(currentCoordinate, destinationCoordinate)];
+    }
+    boolean contains(final Move move){
+        final Move legalMove = getMove(move.getCurrentCoords(), move.getDestinationCoords());
+        return legalMove != null && (legalMove == move || legalMove.equals(move));
+    }
+}
@@ -1,5 +1,6 @@
 package com.chess.engine.player;
 import com.chess.engine.Team;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 import com.chess.engine.piece.King;
@@ -12,62 +13,98 @@ import static com.chess.engine.piece.Piece.PieceType.KING;
 public abstract class Player {
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> LegalMoves;
-    private final boolean isInCheck;
-    Player(final Board board, final Collection<Move> playerLegals, final Collection<Move> opponentLegals){
+    private Collection<Move> LegalMoves;
+    private Boolean isInCheck;
+    private GameStatus gameStatus;
+    private LegalMoveIndex legalMoveIndex;
+    Player(final Board board){
         this.board = board;
         this.playerKing = establishKing();
-        List<Move> modifiedMoves = new ArrayList<>(playerLegals);
-        modifiedMoves.addAll(calculateKingCastle(playerLegals, opponentLegals));
-        this.LegalMoves = Collections.unmodifiableCollection(modifiedMoves);
-        this.isInCheck = !calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegals).isEmpty();
     }
     public King getPlayerKing(){
         return this.playerKing;
     }
+    //Nothing is generated until it is first asked for. Moves that would leave the king attacked are
+    //dropped here using the board's attack masks, so every move returned can be executed as it is.
     public Collection<Move> getLegalMoves(){
-        return this.LegalMoves;
-    }
-    protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMove = new ArrayList<>();
-        for(final  Move move: moves){
-            if(piecePosition == move.getDestinationCoords()){
-                attackMove.add(move);
+        if (this.LegalMoves == null){
+            final Collection<Move> playerLegals = this.board.getStandardLegalMoves(getTeam());
+            final long pinnedPieces = this.board.calculatePinnedPieces(getTeam());
+            final boolean isInCheck = isInCheck();
+            final List<Move> modifiedMoves = new ArrayList<>(playerLegals.size() + 2);
+            for (final Move move : playerLegals){
+                if (this.board.isLegalMove(move, pinnedPieces, isInCheck)){
+                    modifiedMoves.add(move);
+                }
             }
+            modifiedMoves.addAll(calculateKingCastle());
+            this.LegalMoves = Collections.unmodifiableCollection(modifiedMoves);
         }
-        return Collections.unmodifiableList(attackMove);
+        return this.LegalMoves;
     }
     private King establishKing() {
-        for (final Piece piece : getActivePieces()) {
-            if (piece.getPieceType() == Piece.PieceType.KING) {
-                return (King) piece;
-            }
+        final long kingBitBoard = this.board.getPieceBitBoard(getTeam(), KING);
+        if (kingBitBoard == BitBoards.EMPTY) {
+            throw new RuntimeException("No king found among active pieces");
         }
-        throw new RuntimeException("No king found among active pieces");
+        return (King) this.board.getPiece(BitBoards.firstSquare(kingBitBoard));
+    }
+    //Built the first time a move is checked or looked up, from then on both take constant time.
+    private LegalMoveIndex getLegalMoveIndex(){
+        if (this.legalMoveIndex == null){
+            this.legalMoveIndex = new LegalMoveIndex(getLegalMoves());
+        }
+        return this.legalMoveIndex;
     }
     public boolean isMoveLegal(final Move move){
-        return this.LegalMoves.contains(move);
+        return getLegalMoveIndex().contains(move);
+    }
+    //The legal move between two squares, or Move.NULL_MOVE when there is none.
+    public Move getLegalMove(final int currentCoordinate, final int destinationCoordinate){
+        final Move move = getLegalMoveIndex().getMove(currentCoordinate, destinationCoordinate);
+        return move != null ? move : Move.NULL_MOVE;
     }
     public boolean isInCheck(){
+        if (this.isInCheck == null){
+            this.isInCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(), getTeam().opposite());
+        }
         return this.isInCheck;
     }
+    //Worked out once per board and kept, every caller asking about check, mate or stalemate shares it.
+    public GameStatus getGameStatus(){
+        if (this.gameStatus == null){
+            final boolean isInCheck = isInCheck();
+            if (escapeMoves()){
+                this.gameStatus = isInCheck ? GameStatus.CHECK : GameStatus.ONGOING;
+            } else {
+                this.gameStatus = isInCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+            }
+        }
+        return this.gameStatus;
+    }
     public boolean isInCheckMate(){
-        return this.isInCheck && !escapeMoves();
+        return getGameStatus() == GameStatus.CHECKMATE;
     }
+    //Stops at the first legal move found unless the full list has been generated already. Castling is only
+    //looked at when nothing else is legal, as it needs the king to be able to step aside anyway.
     protected boolean escapeMoves() {
-        for(final Move move : this.LegalMoves){
-            final MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone()){
+        if (this.LegalMoves != null){
+            return !this.LegalMoves.isEmpty();
+        }
+        final long pinnedPieces = this.board.calculatePinnedPieces(getTeam());
+        final boolean isInCheck = isInCheck();
+        for (final Move move : this.board.getStandardLegalMoves(getTeam())){
+            if (this.board.isLegalMove(move, pinnedPieces, isInCheck)){
                 return true;
             }
         }
-        return false;
+        return !calculateKingCastle().isEmpty();
     }
     public boolean isInStaleMate(){
-        return !this.isInCheck && !escapeMoves();
+        return getGameStatus() == GameStatus.STALEMATE;
     }
     public boolean isCastled(){
-        return false;
+        return this.playerKing.isCastled();
     }
     public boolean isKingSideCastleCapable(){
         return this.playerKing.isKingSideCastleCapable();
@@ -76,20 +113,14 @@ public abstract class Player {
         return this.playerKing.isQueenSideCastleCapable();
     }
     public MoveTransition makeMove(final Move move){
-        if(!this.LegalMoves.contains(move)){
+        if(!isMoveLegal(move)){
             return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
         final Board transitionBoard = move.execute();
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(
-                transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.currentPlayer().getLegalMoves());
-        if (!kingAttacks.isEmpty()){
-            return new MoveTransition(this.board,this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
         return new MoveTransition(transitionBoard,transitionBoard, move, MoveStatus.DONE);
     }
     public  abstract Collection<Piece> getActivePieces();
     public abstract Team getTeam();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastle(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    protected abstract Collection<Move> calculateKingCastle();
 }
\ No newline at end of file
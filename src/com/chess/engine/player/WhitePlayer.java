@@ -2,7 +2,6 @@ package com.chess.engine.player;
 import com.chess.engine.Team;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import com.chess.engine.piece.*;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -10,9 +9,8 @@ import java.util.Collections;
 import java.util.List;
 import static com.chess.engine.board.Move.*;
 public class WhitePlayer extends Player{
-    public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super (board, whiteStandardLegalMoves, blackStandardLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
     @Override
     public Collection<Piece> getActivePieces() {
@@ -27,38 +25,37 @@ public class WhitePlayer extends Player{
         return this.board.blackPlayer();
     }
     @Override
-    protected Collection<Move> calculateKingCastle(final Collection<Move> playerLegals,
-                                                   final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastle() {
         final List<Move> kingCastle = new ArrayList<>();
         if (this.playerKing.isFirstMove() && !this.isInCheck()){
             //White side castling.
-            if (!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()){
-                final Tile rookTile = this.board.getTile(63);
-                if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()){
-                    if (Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
-                            rookTile.getPiece().getPieceType().isRook()) {
+            if (this.board.getPiece(61) == null && this.board.getPiece(62) == null){
+                final Piece rook = this.board.getPiece(63);
+                if(rook != null && rook.isFirstMove()){
+                    if (!this.board.isSquareAttacked(61, Team.BLACK) &&
+                            !this.board.isSquareAttacked(62, Team.BLACK) &&
+                            rook.getPieceType().isRook()) {
                         kingCastle.add(new KingSideCastleMove(this.board,
                                 this.playerKing,
                                 62,
-                                (Rook) rookTile.getPiece(),
-                                rookTile.getTileCoordinate(),
+                                (Rook) rook,
+                                rook.getPiecePosition(),
                                 61));
                     }
                 }
             }
-            if (!this.board.getTile(59).isTileOccupied() && !this.board.getTile(58).isTileOccupied() &&
-                    !this.board.getTile(57).isTileOccupied()){
-                final Tile rookTile = this.board.getTile(56);
-                if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(58,opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()){
+            if (this.board.getPiece(59) == null && this.board.getPiece(58) == null &&
+                    this.board.getPiece(57) == null){
+                final Piece rook = this.board.getPiece(56);
+                if(rook != null && rook.isFirstMove() &&
+                        !this.board.isSquareAttacked(58, Team.BLACK) &&
+                        !this.board.isSquareAttacked(59, Team.BLACK) &&
+                        rook.getPieceType().isRook()){
                     kingCastle.add(new QueenSideCastleMove(this.board,
                             this.playerKing,
                             58,
-                            (Rook) rookTile.getPiece(),
-                            rookTile.getTileCoordinate(),
+                            (Rook) rook,
+                            rook.getPiecePosition(),
                             59));
                 }
             }
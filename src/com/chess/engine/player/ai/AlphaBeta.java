@@ -0,0 +1,332 @@
+package com.chess.engine.player.ai;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+//Negamax with alpha-beta pruning. Scores are from the side to move's point of view, so one method serves
+//both players and a branch is dropped as soon as it is proven no better than one already searched.
+//An AlphaBeta is meant to be kept for a whole game, its killers and history carry over from move to move, and
+//closed once its owner is done with it.
+public class AlphaBeta implements MoveStrategy, AutoCloseable {
+    private static final int INFINITY = SearchWorker.INFINITY;
+    private final SearchLimits searchLimits;
+    private final TranspositionTable transpositionTable;
+    private final int threads;
+    private final SearchWorker[] workers;
+    //Shared by every execute of this search and shut down by close.
+    private final ForkJoinPool pool;
+    private final AtomicLong reportedNodes;
+    private volatile boolean stopped;
+    private volatile boolean stopRequested;
+    private volatile int completedDepth;
+    private SearchLimits currentLimits;
+    private long startTime;
+    private SearchStats searchStats;
+    public AlphaBeta(final int searchDepth){
+        this(SearchLimits.depth(searchDepth), null);
+    }
+    public AlphaBeta(final int searchDepth, final TranspositionTable transpositionTable){
+        this(SearchLimits.depth(searchDepth), transpositionTable);
+    }
+    public AlphaBeta(final SearchLimits searchLimits, final TranspositionTable transpositionTable){
+        this(new Builder().setSearchLimits(searchLimits).setTranspositionTable(transpositionTable));
+    }
+    private AlphaBeta(final Builder builder){
+        this.searchLimits = builder.searchLimits;
+        this.currentLimits = builder.searchLimits;
+        this.transpositionTable = builder.transpositionTable;
+        this.threads = builder.threads;
+        //The thread that calls execute can run a root task itself while it waits for the pool, so a parallel
+        //search needs one worker more than it has pool threads.
+        this.workers = new SearchWorker[builder.threads > 1 ? builder.threads + 1 : 1];
+        for (int i = 0; i < this.workers.length; i++){
+            this.workers[i] = new SearchWorker(this, this.searchLimits.getMaxDepth(), this.transpositionTable,
+                    builder.useQuiescence);
+        }
+        this.pool = builder.threads > 1 ? new ForkJoinPool(builder.threads) : null;
+        this.reportedNodes = new AtomicLong();
+        this.searchStats = SearchStats.NONE;
+    }
+    @Override
+    public String toString(){
+        return "AlphaBeta";
+    }
+    //Nodes of the full width search down to the horizon, the quiescence nodes past it are counted on their own.
+    public long getNodesSearched(){
+        long nodes = 0;
+        for (final SearchWorker worker : this.workers){
+            nodes += worker.getNodesSearched();
+        }
+        return nodes;
+    }
+    public long getQuiescenceNodes(){
+        long nodes = 0;
+        for (final SearchWorker worker : this.workers){
+            nodes += worker.getQuiescenceNodes();
+        }
+        return nodes;
+    }
+    public int getCompletedDepth(){
+        return this.completedDepth;
+    }
+    public int getThreads(){
+        return this.threads;
+    }
+    public long getBetaCutoffs(){
+        long cutoffs = 0;
+        for (final SearchWorker worker : this.workers){
+            cutoffs += worker.getBetaCutoffs();
+        }
+        return cutoffs;
+    }
+    //Share of beta cutoffs made by the first move searched, the closer to 1 the better the move ordering.
+    public double getFirstMoveCutoffRate(){
+        long firstMoveCutoffs = 0;
+        for (final SearchWorker worker : this.workers){
+            firstMoveCutoffs += worker.getFirstMoveCutoffs();
+        }
+        final long betaCutoffs = getBetaCutoffs();
+        return betaCutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / betaCutoffs;
+    }
+    @Override
+    public SearchStats getSearchStats(){
+        return this.searchStats;
+    }
+    public long getEvaluations(){
+        long evaluations = 0;
+        for (final SearchWorker worker : this.workers){
+            evaluations += worker.getEvaluations();
+        }
+        return evaluations;
+    }
+    private long getPawnHashProbes(){
+        long probes = 0;
+        for (final SearchWorker worker : this.workers){
+            probes += worker.getPawnHashTable().getProbes();
+        }
+        return probes;
+    }
+    private long getPawnHashHits(){
+        long hits = 0;
+        for (final SearchWorker worker : this.workers){
+            hits += worker.getPawnHashTable().getHits();
+        }
+        return hits;
+    }
+    //Share of evaluations that found their pawn structure already scored, over every search made so far.
+    public double getPawnHashHitRate(){
+        return SearchStats.hitRate(getPawnHashProbes(), getPawnHashHits());
+    }
+    //Searches depth 1, 2, 3... and keeps the move of the last iteration that finished. An iteration cut short by
+    //the time or node limit is thrown away, the first one always runs to the end so there is a move to play.
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, this.searchLimits);
+    }
+    //As execute, with limits for this move only. They can go no deeper than the limits the search was built with.
+    public Move execute(final Board board, final SearchLimits searchLimits){
+        if (searchLimits.getMaxDepth() > this.searchLimits.getMaxDepth()){
+            throw new IllegalArgumentException("Search was built for depth " + this.searchLimits.getMaxDepth() +
+                    ", got " + searchLimits.getMaxDepth());
+        }
+        this.currentLimits = searchLimits;
+        this.startTime = System.currentTimeMillis();
+        this.reportedNodes.set(0);
+        this.completedDepth = 0;
+        this.stopped = false;
+        this.stopRequested = false;
+        for (final SearchWorker worker : this.workers){
+            worker.newSearch(board);
+        }
+        if (this.transpositionTable != null){
+            this.transpositionTable.newSearch();
+        }
+        final long transpositionProbes = this.transpositionTable != null ? this.transpositionTable.getProbes() : 0;
+        final long transpositionHits = this.transpositionTable != null ? this.transpositionTable.getHits() : 0;
+        final long pawnHashProbes = getPawnHashProbes();
+        final long pawnHashHits = getPawnHashHits();
+        final SearchStats.Builder stats = new SearchStats.Builder();
+        long iterationStartNodes = 0;
+        long iterationStartTime = this.startTime;
+        final int[] rootMoves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = this.workers[0].getBoard().generateLegalMoves(rootMoves);
+        final int[] rootValues = new int[numMoves];
+        int bestIndex = -1;
+        for (int depth = 1; depth <= this.currentLimits.getMaxDepth() && !isNextIterationTooLong(); depth++){
+            final int iterationIndex = this.pool == null ?
+                    searchRoot(rootMoves, rootValues, numMoves, depth, bestIndex) :
+                    searchRootParallel(rootMoves, rootValues, numMoves, depth, bestIndex);
+            if (this.stopped){
+                break;
+            }
+            bestIndex = iterationIndex;
+            this.completedDepth = depth;
+            final long iterationEndNodes = getNodesSearched() + getQuiescenceNodes();
+            final long iterationEndTime = System.currentTimeMillis();
+            stats.addIteration(iterationEndNodes - iterationStartNodes, iterationEndTime - iterationStartTime);
+            iterationStartNodes = iterationEndNodes;
+            iterationStartTime = iterationEndTime;
+        }
+        this.searchStats = stats
+                .setNodes(getNodesSearched() + getQuiescenceNodes())
+                .setQuiescenceNodes(getQuiescenceNodes())
+                .setEvaluations(getEvaluations())
+                .setElapsedMillis(getElapsedMillis())
+                .setCompletedDepth(this.completedDepth)
+                .setBetaCutoffs(getBetaCutoffs())
+                .setFirstMoveCutoffRate(getFirstMoveCutoffRate())
+                .setTranspositionHitRate(this.transpositionTable == null ? 0.0 : SearchStats.hitRate(
+                        this.transpositionTable.getProbes() - transpositionProbes,
+                        this.transpositionTable.getHits() - transpositionHits))
+                .setPawnHashHitRate(SearchStats.hitRate(getPawnHashProbes() - pawnHashProbes,
+                        getPawnHashHits() - pawnHashHits))
+                .build();
+        SearchMonitor.get().record(this.searchStats);
+        return bestIndex < 0 ? Move.NULL_MOVE : PackedMove.toMove(board, rootMoves[bestIndex]);
+    }
+    //Every root move is searched with alpha one point below the best score so far, so a move that ties the best
+    //gets an exact score in whatever order the moves are searched. Of the moves sharing the best score the last
+    //one in generation order is kept, the same move MiniMax picks.
+    private int searchRoot(final int[] rootMoves, final int[] rootValues, final int numMoves, final int depth,
+                           final int previousBest){
+        final SearchWorker worker = this.workers[0];
+        int bestValue = -INFINITY;
+        for (int i = 0; i < numMoves && !this.stopped; i++){
+            final int index = searchOrder(i, previousBest);
+            rootValues[index] = worker.searchRootMove(rootMoves[index], depth, bestValue - 1);
+            bestValue = Math.max(bestValue, rootValues[index]);
+        }
+        return selectBest(rootValues, numMoves);
+    }
+    //Young brothers wait: the first move is searched alone to set a bound, then the rest are shared out over the
+    //pool. Each task takes an idle worker and starts from the best score found by any thread so far.
+    private int searchRootParallel(final int[] rootMoves, final int[] rootValues,
+                                   final int numMoves, final int depth, final int previousBest){
+        if (numMoves == 0){
+            return -1;
+        }
+        final int firstIndex = searchOrder(0, previousBest);
+        rootValues[firstIndex] = this.workers[0].searchRootMove(rootMoves[firstIndex], depth, -INFINITY - 1);
+        final AtomicInteger bestValue = new AtomicInteger(rootValues[firstIndex]);
+        final ConcurrentLinkedQueue<SearchWorker> idleWorkers = new ConcurrentLinkedQueue<>();
+        for (final SearchWorker worker : this.workers){
+            idleWorkers.add(worker);
+        }
+        final List<Callable<Void>> tasks = new ArrayList<>(numMoves);
+        for (int i = 1; i < numMoves; i++){
+            final int index = searchOrder(i, previousBest);
+            tasks.add(() -> {
+                final SearchWorker worker = idleWorkers.poll();
+                if (worker == null){
+                    throw new IllegalStateException("More root tasks running than search workers");
+                }
+                try {
+                    rootValues[index] = worker.searchRootMove(rootMoves[index], depth, bestValue.get() - 1);
+                    bestValue.accumulateAndGet(rootValues[index], Math::max);
+                } finally {
+                    idleWorkers.add(worker);
+                }
+                return null;
+            });
+        }
+        this.pool.invokeAll(tasks);
+        return selectBest(rootValues, numMoves);
+    }
+    //The best move of the last iteration goes first, the others follow in generation order.
+    private static int searchOrder(final int position, final int previousBest){
+        if (previousBest < 0){
+            return position;
+        }
+        if (position == 0){
+            return previousBest;
+        }
+        return position <= previousBest ? position - 1 : position;
+    }
+    private static int selectBest(final int[] rootValues, final int numMoves){
+        int bestIndex = -1;
+        for (int i = 0; i < numMoves; i++){
+            if (bestIndex < 0 || rootValues[i] >= rootValues[bestIndex]){
+                bestIndex = i;
+            }
+        }
+        return bestIndex;
+    }
+    //Ends the search running on another thread as soon as its first iteration is done, execute then returns the
+    //best move found so far. A request made while no search runs has no effect.
+    public void stop(){
+        this.stopRequested = true;
+    }
+    //Ends the threads of the search. The AlphaBeta must not be used afterwards.
+    @Override
+    public void close(){
+        if (this.pool != null){
+            this.pool.shutdown();
+        }
+    }
+    boolean isStopped(){
+        return this.stopped;
+    }
+    //Called by the workers with the nodes searched since their last report, or with the ones still unreported.
+    boolean checkLimits(final long newNodes, final long unreportedNodes){
+        if (this.stopped){
+            return true;
+        }
+        final long nodes = newNodes != 0 ? this.reportedNodes.addAndGet(newNodes) : this.reportedNodes.get();
+        if (this.completedDepth > 0 && (this.stopRequested ||
+                nodes + unreportedNodes >= this.currentLimits.getNodeLimit() ||
+                (newNodes != 0 && this.currentLimits.isTimeLimited() &&
+                        getElapsedMillis() >= this.currentLimits.getTimeLimitMillis()))){
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+    //Each iteration takes several times longer than the one before, one that could not finish is not started.
+    private boolean isNextIterationTooLong(){
+        return this.completedDepth > 0 && (this.stopRequested || this.currentLimits.isTimeLimited() &&
+                getElapsedMillis() * 2 >= this.currentLimits.getTimeLimitMillis());
+    }
+    private long getElapsedMillis(){
+        return System.currentTimeMillis() - this.startTime;
+    }
+    public static class Builder{
+        SearchLimits searchLimits;
+        TranspositionTable transpositionTable;
+        boolean useQuiescence;
+        int threads;
+        public Builder(){
+            this.searchLimits = SearchLimits.depth(4);
+            this.useQuiescence = true;
+            this.threads = 1;
+        }
+        public Builder setSearchLimits(final SearchLimits searchLimits){
+            this.searchLimits = searchLimits;
+            return this;
+        }
+        public Builder setTranspositionTable(final TranspositionTable transpositionTable){
+            this.transpositionTable = transpositionTable;
+            return this;
+        }
+        public Builder setQuiescence(final boolean useQuiescence){
+            this.useQuiescence = useQuiescence;
+            return this;
+        }
+        //One thread searches the root moves in order and gives the same move every time, more threads split them.
+        public Builder setThreads(final int threads){
+            if (threads < 1){
+                throw new IllegalArgumentException("A search needs at least one thread, got " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+        public AlphaBeta build(){
+            return new AlphaBeta(this);
+        }
+    }
+}
@@ -1,81 +1,162 @@
 package com.chess.engine.player.ai;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
-import com.sun.security.auth.UnixNumericUserPrincipal;
-import org.junit.jupiter.api.DisplayNameGenerator;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
 public class MiniMax implements MoveStrategy{
     private final BoardEvaluator boardEvaluator;
+    private final PawnHashTable pawnHashTable;
     private final int searchDepth;
+    private final int[][] moveBuffers;
+    private final TranspositionTable transpositionTable;
+    private long nodesSearched;
+    private long evaluations;
+    private SearchStats searchStats;
     public MiniMax(final int searchDepth){
-        this.boardEvaluator = new StandardBoardEvaluator();
+        this(searchDepth, null);
+    }
+    public MiniMax(final int searchDepth, final TranspositionTable transpositionTable){
+        this.pawnHashTable = new PawnHashTable(PawnHashTable.DEFAULT_SIZE_KB);
+        this.boardEvaluator = new StandardBoardEvaluator(this.pawnHashTable);
         this.searchDepth = searchDepth;
+        this.moveBuffers = new int[searchDepth + 1][SearchBoard.MAX_MOVES];
+        this.transpositionTable = transpositionTable;
+        this.searchStats = SearchStats.NONE;
     }
     @Override
     public String toString(){
         return "MiniMax";
     }
+    public long getNodesSearched(){
+        return this.nodesSearched;
+    }
+    @Override
+    public SearchStats getSearchStats(){
+        return this.searchStats;
+    }
     @Override
     public Move execute(Board board) {
         final long startTime = System.currentTimeMillis();
-        Move bestMove = null;
+        final SearchBoard searchBoard = new SearchBoard(board);
+        this.nodesSearched = 0;
+        this.evaluations = 0;
+        final long transpositionProbes = this.transpositionTable != null ? this.transpositionTable.getProbes() : 0;
+        final long transpositionHits = this.transpositionTable != null ? this.transpositionTable.getHits() : 0;
+        final long pawnHashProbes = this.pawnHashTable.getProbes();
+        final long pawnHashHits = this.pawnHashTable.getHits();
+        final boolean isWhite = board.currentPlayer().getTeam().isWhite();
+        int bestMove = PackedMove.NO_MOVE;
         int highestSeenValue = Integer.MIN_VALUE;
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
-        System.out.println(board.currentPlayer() + " Thinking with depth = " + this.searchDepth);
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentValue = board.currentPlayer().getTeam().isWhite() ?
-                        min(moveTransition.getTransitionBoard(), this.searchDepth - 1) :
-                        max(moveTransition.getTransitionBoard(), this.searchDepth - 1);
-                if (board.currentPlayer().getTeam().isWhite() && currentValue >= highestSeenValue) {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                }
-                else if (board.currentPlayer().getTeam().isBlack() && currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
+        if (this.transpositionTable != null){
+            this.transpositionTable.newSearch();
+        }
+        final int[] moves = this.moveBuffers[this.searchDepth];
+        final int numMoves = searchBoard.generateLegalMoves(moves);
+        for (int i = 0; i < numMoves; i++) {
+            searchBoard.makeMove(moves[i]);
+            currentValue = isWhite ?
+                    min(searchBoard, this.searchDepth - 1) :
+                    max(searchBoard, this.searchDepth - 1);
+            searchBoard.unmakeMove();
+            if (isWhite && currentValue >= highestSeenValue) {
+                highestSeenValue = currentValue;
+                bestMove = moves[i];
+            }
+            else if (!isWhite && currentValue <= lowestSeenValue) {
+                lowestSeenValue = currentValue;
+                bestMove = moves[i];
             }
         }
-        final long executionTime = System.currentTimeMillis() - startTime;
-        return bestMove;
+        this.searchStats = new SearchStats.Builder()
+                .setNodes(this.nodesSearched)
+                .setEvaluations(this.evaluations)
+                .setElapsedMillis(System.currentTimeMillis() - startTime)
+                .setCompletedDepth(this.searchDepth)
+                .setTranspositionHitRate(this.transpositionTable == null ? 0.0 : SearchStats.hitRate(
+                        this.transpositionTable.getProbes() - transpositionProbes,
+                        this.transpositionTable.getHits() - transpositionHits))
+                .setPawnHashHitRate(SearchStats.hitRate(this.pawnHashTable.getProbes() - pawnHashProbes,
+                        this.pawnHashTable.getHits() - pawnHashHits))
+                .build();
+        SearchMonitor.get().record(this.searchStats);
+        return PackedMove.toMove(board, bestMove);
     }
-    public int min(final Board board, final int depth){
-        if(depth == 0 || isEndGameScenario(board)){
-            return this.boardEvaluator.evaluate(board, depth);
+    //Checkmate and stalemate are the positions without a legal move, they are scored like the search horizon.
+    public int min(final SearchBoard board, final int depth){
+        this.nodesSearched++;
+        if(depth == 0){
+            return evaluate(board, depth);
+        }
+        final long entry = probe(board, depth);
+        if (entry != TranspositionTable.NO_ENTRY){
+            return StandardBoardEvaluator.fromTranspositionScore(TranspositionTable.getScore(entry), board.getPly());
+        }
+        final int[] moves = this.moveBuffers[depth];
+        final int numMoves = board.generateLegalMoves(moves);
+        if (numMoves == 0){
+            return evaluate(board, depth);
         }
         int lowestSeenValue = Integer.MAX_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()){
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()){
-                final int currentValue = max(moveTransition.getTransitionBoard(), depth -1);
-                if (currentValue <= lowestSeenValue){
-                    lowestSeenValue = currentValue;
-                }
+        int bestMove = PackedMove.NO_MOVE;
+        for (int i = 0; i < numMoves; i++){
+            board.makeMove(moves[i]);
+            final int currentValue = max(board, depth - 1);
+            board.unmakeMove();
+            if (currentValue <= lowestSeenValue){
+                lowestSeenValue = currentValue;
+                bestMove = moves[i];
             }
         }
+        store(board, depth, lowestSeenValue, bestMove);
         return lowestSeenValue;
     }
-    private static boolean isEndGameScenario(final Board board){
-        return board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate();
-    }
-    public int max(final Board board, final int depth){
-        if(depth == 0 || isEndGameScenario(board)){
-            return this.boardEvaluator.evaluate(board, depth);
+    public int max(final SearchBoard board, final int depth){
+        this.nodesSearched++;
+        if(depth == 0){
+            return evaluate(board, depth);
+        }
+        final long entry = probe(board, depth);
+        if (entry != TranspositionTable.NO_ENTRY){
+            return StandardBoardEvaluator.fromTranspositionScore(TranspositionTable.getScore(entry), board.getPly());
+        }
+        final int[] moves = this.moveBuffers[depth];
+        final int numMoves = board.generateLegalMoves(moves);
+        if (numMoves == 0){
+            return evaluate(board, depth);
         }
         int highestSeenValue = Integer.MIN_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()){
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()){
-                final int currentValue = min(moveTransition.getTransitionBoard(), depth -1);
-                if (currentValue <= highestSeenValue){
-                    highestSeenValue = currentValue;
-                }
+        int bestMove = PackedMove.NO_MOVE;
+        for (int i = 0; i < numMoves; i++){
+            board.makeMove(moves[i]);
+            final int currentValue = min(board, depth - 1);
+            board.unmakeMove();
+            if (currentValue >= highestSeenValue){
+                highestSeenValue = currentValue;
+                bestMove = moves[i];
             }
         }
+        store(board, depth, highestSeenValue, bestMove);
         return highestSeenValue;
     }
-}
\ No newline at end of file
+    private int evaluate(final SearchBoard board, final int depth){
+        this.evaluations++;
+        return this.boardEvaluator.evaluate(board, depth);
+    }
+    //Plain minimax scores are exact, so any entry searched at least as deep can be returned as it is.
+    private long probe(final SearchBoard board, final int depth){
+        if (this.transpositionTable == null){
+            return TranspositionTable.NO_ENTRY;
+        }
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        return entry != TranspositionTable.NO_ENTRY && TranspositionTable.getDepth(entry) >= depth ?
+                entry : TranspositionTable.NO_ENTRY;
+    }
+    private void store(final SearchBoard board, final int depth, final int score, final int bestMove){
+        if (this.transpositionTable != null){
+            this.transpositionTable.store(board.getZobristKey(), depth,
+                    StandardBoardEvaluator.toTranspositionScore(score, board.getPly()), TranspositionTable.EXACT, bestMove);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.chess.engine.player.ai;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.piece.Piece.PieceType;
+//Scores moves so the ones most likely to cause a cutoff are searched first: the transposition table move, then
+//captures of the most valuable victim by the least valuable attacker, then the killer moves of the ply, quiet
+//moves by how often they caused cutoffs before and last the captures that give up material to a recapture.
+final class MoveOrdering {
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int PROMOTION_SCORE = 1 << 27;
+    private static final int FIRST_KILLER_SCORE = 1 << 26;
+    private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+    private static final int MAX_HISTORY = FIRST_KILLER_SCORE - 2;
+    private static final int LOSING_CAPTURE_SCORE = -(1 << 28);
+    private static final int[] PIECE_VALUES = pieceValues();
+    private final int[][] killerMoves;
+    private final int[][] history;
+    MoveOrdering(final int maxPly){
+        this.killerMoves = new int[maxPly + 1][2];
+        this.history = new int[64][64];
+    }
+    private static int[] pieceValues(){
+        final PieceType[] pieceTypes = PieceType.values();
+        final int[] pieceValues = new int[BitBoards.Num_Piece_BitBoards];
+        for (int i = 0; i < pieceValues.length; i++){
+            pieceValues[i] = pieceTypes[i % BitBoards.Num_Piece_Types].getPieceValue();
+        }
+        return pieceValues;
+    }
+    //Most valuable victim first, among equal victims the cheapest attacker first.
+    static int mvvLva(final SearchBoard board, final int move){
+        final int victim = PIECE_VALUES[PackedMove.getCapturedType(move)];
+        final int attacker = PIECE_VALUES[board.getPiece(PackedMove.getCurrentCoordinate(move))];
+        return victim * 16 - attacker / 16;
+    }
+    //A more valuable piece taking a defended one, likely to lose material once the recapture is made.
+    private static boolean isLosingCapture(final SearchBoard board, final int move){
+        final int destination = PackedMove.getDestinationCoordinate(move);
+        return PackedMove.getMoveType(move) != PackedMove.EN_PASSANT &&
+                PIECE_VALUES[board.getPiece(PackedMove.getCurrentCoordinate(move))] >
+                        PIECE_VALUES[PackedMove.getCapturedType(move)] &&
+                board.isSquareAttacked(destination, board.getSideToMove().opposite());
+    }
+    void scoreMoves(final SearchBoard board, final int[] moves, final int[] scores, final int numMoves,
+                    final int hashMove, final int ply){
+        final int[] killers = this.killerMoves[ply];
+        for (int i = 0; i < numMoves; i++){
+            final int move = moves[i];
+            if (PackedMove.getKey(move) == hashMove){
+                scores[i] = HASH_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move)){
+                scores[i] = (isLosingCapture(board, move) ? LOSING_CAPTURE_SCORE : CAPTURE_SCORE) + mvvLva(board, move);
+            } else if (PackedMove.isPromotion(move)){
+                scores[i] = PROMOTION_SCORE;
+            } else if (move == killers[0]){
+                scores[i] = FIRST_KILLER_SCORE;
+            } else if (move == killers[1]){
+                scores[i] = SECOND_KILLER_SCORE;
+            } else {
+                scores[i] = this.history[PackedMove.getCurrentCoordinate(move)][PackedMove.getDestinationCoordinate(move)];
+            }
+        }
+    }
+    //Quiescence moves are captures, or check evasions that are searched after the captures among them.
+    static void scoreCaptures(final SearchBoard board, final int[] moves, final int[] scores, final int numMoves){
+        for (int i = 0; i < numMoves; i++){
+            scores[i] = PackedMove.isCapture(moves[i]) ? CAPTURE_SCORE + mvvLva(board, moves[i]) :
+                    PackedMove.isPromotion(moves[i]) ? PROMOTION_SCORE : 0;
+        }
+    }
+    //Selection sort one step at a time: a cutoff usually comes early, so most of the list is never sorted.
+    static int selectNext(final int[] moves, final int[] scores, final int index, final int numMoves){
+        int best = index;
+        for (int i = index + 1; i < numMoves; i++){
+            if (scores[i] > scores[best]){
+                best = i;
+            }
+        }
+        final int move = moves[best];
+        moves[best] = moves[index];
+        moves[index] = move;
+        final int score = scores[best];
+        scores[best] = scores[index];
+        scores[index] = score;
+        return move;
+    }
+    //Called for a quiet move that failed high. Captures are already ordered by MVV-LVA and are not recorded.
+    void recordCutoff(final int move, final int depth, final int ply){
+        final int[] killers = this.killerMoves[ply];
+        if (killers[0] != move){
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+        final int[] fromHistory = this.history[PackedMove.getCurrentCoordinate(move)];
+        final int to = PackedMove.getDestinationCoordinate(move);
+        fromHistory[to] += depth * depth;
+        if (fromHistory[to] > MAX_HISTORY){
+            ageHistory();
+        }
+    }
+    //Killers belong to the positions of one search, history is halved so older searches count for less.
+    void newSearch(){
+        for (final int[] killers : this.killerMoves){
+            killers[0] = PackedMove.NO_MOVE;
+            killers[1] = PackedMove.NO_MOVE;
+        }
+        ageHistory();
+    }
+    private void ageHistory(){
+        for (final int[] fromHistory : this.history){
+            for (int to = 0; to < fromHistory.length; to++){
+                fromHistory[to] >>= 1;
+            }
+        }
+    }
+}
@@ -7,4 +7,7 @@ public interface MoveStrategy {
 
     Move execute(Board board);
 
+    //What the last execute did, SearchStats.NONE before the first one.
+    SearchStats getSearchStats();
+
 }
@@ -0,0 +1,72 @@
+package com.chess.engine.player.ai;
+import java.util.Arrays;
+//Fixed size cache of pawn structure, keyed by the pawn only Zobrist key of a SearchBoard. Pawns move rarely
+//compared with the other pieces, so most leaves of a search find the structure of a sibling already stored.
+//Each slot keeps the key, the structure score and the squares of the passed pawns. A table belongs to one
+//search thread and is not locked.
+public final class PawnHashTable {
+    public static final int MISS = -1;
+    public static final int DEFAULT_SIZE_KB = 256;
+    private static final int BYTES_PER_ENTRY = 20;
+    private final long[] keys;
+    private final int[] scores;
+    private final long[] passedPawns;
+    private final int indexMask;
+    private long probes;
+    private long hits;
+    public PawnHashTable(final int sizeInKB){
+        if (sizeInKB <= 0){
+            throw new IllegalArgumentException("Pawn hash table needs at least 1 KB, got " + sizeInKB);
+        }
+        final long budget = (long) sizeInKB * 1024 / BYTES_PER_ENTRY;
+        final int size = (int) Long.highestOneBit(Math.min(budget, 1L << 26));
+        this.keys = new long[size];
+        this.scores = new int[size];
+        this.passedPawns = new long[size];
+        this.indexMask = size - 1;
+    }
+    //Returns the slot holding the pawn key, or MISS. An empty slot reads as key 0 with no score and no passed
+    //pawns, which is exactly the entry for a board without pawns, so it needs no flag of its own.
+    public int probe(final long pawnKey){
+        final int index = (int) pawnKey & this.indexMask;
+        this.probes++;
+        if (this.keys[index] == pawnKey){
+            this.hits++;
+            return index;
+        }
+        return MISS;
+    }
+    //Always replaces, the entry just computed is the one the next siblings will look up.
+    public int store(final long pawnKey, final int score, final long passedPawns){
+        final int index = (int) pawnKey & this.indexMask;
+        this.keys[index] = pawnKey;
+        this.scores[index] = score;
+        this.passedPawns[index] = passedPawns;
+        return index;
+    }
+    public int getScore(final int slot){
+        return this.scores[slot];
+    }
+    public long getPassedPawns(final int slot){
+        return this.passedPawns[slot];
+    }
+    public void clear(){
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.scores, 0);
+        Arrays.fill(this.passedPawns, 0L);
+        this.probes = 0;
+        this.hits = 0;
+    }
+    public int size(){
+        return this.keys.length;
+    }
+    public long getProbes(){
+        return this.probes;
+    }
+    public long getHits(){
+        return this.hits;
+    }
+    public double getHitRate(){
+        return this.probes == 0 ? 0.0 : (double) this.hits / this.probes;
+    }
+}
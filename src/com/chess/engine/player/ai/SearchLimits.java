@@ -0,0 +1,51 @@
+package com.chess.engine.player.ai;
+//When an iterative deepening search stops: after a maximum depth, after a wall-clock time or after a number of
+//nodes, whichever comes first. A limit of NO_LIMIT is never reached.
+public final class SearchLimits {
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+    public static final int MAX_DEPTH = 64;
+    private final int maxDepth;
+    private final long timeLimitMillis;
+    private final long nodeLimit;
+    public SearchLimits(final int maxDepth, final long timeLimitMillis, final long nodeLimit){
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH){
+            throw new IllegalArgumentException("Search depth must be between 1 and " + MAX_DEPTH + ", got " + maxDepth);
+        }
+        if (timeLimitMillis <= 0 || nodeLimit <= 0){
+            throw new IllegalArgumentException("Time and node limits must be positive");
+        }
+        this.maxDepth = maxDepth;
+        this.timeLimitMillis = timeLimitMillis;
+        this.nodeLimit = nodeLimit;
+    }
+    public static SearchLimits depth(final int maxDepth){
+        return new SearchLimits(maxDepth, NO_LIMIT, NO_LIMIT);
+    }
+    public static SearchLimits moveTime(final long timeLimitMillis){
+        return new SearchLimits(MAX_DEPTH, timeLimitMillis, NO_LIMIT);
+    }
+    public static SearchLimits nodes(final long nodeLimit){
+        return new SearchLimits(MAX_DEPTH, NO_LIMIT, nodeLimit);
+    }
+    public int getMaxDepth(){
+        return this.maxDepth;
+    }
+    public long getTimeLimitMillis(){
+        return this.timeLimitMillis;
+    }
+    public long getNodeLimit(){
+        return this.nodeLimit;
+    }
+    public boolean isTimeLimited(){
+        return this.timeLimitMillis != NO_LIMIT;
+    }
+    public boolean isNodeLimited(){
+        return this.nodeLimit != NO_LIMIT;
+    }
+    @Override
+    public String toString(){
+        return "depth " + this.maxDepth +
+                (isTimeLimited() ? ", " + this.timeLimitMillis + " ms" : "") +
+                (isNodeLimited() ? ", " + this.nodeLimit + " nodes" : "");
+    }
+}
@@ -0,0 +1,137 @@
+package com.chess.engine.player.ai;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+//Collects the SearchStats of every MiniMax and AlphaBeta run and publishes them on the platform MBean server, so
+//monitoring can follow the engine without touching the search. Registered once, the first time a search ends.
+public final class SearchMonitor implements SearchMonitorMXBean {
+    public static final String OBJECT_NAME = "com.chess.engine:type=SearchMonitor";
+    private static final SearchMonitor INSTANCE = register(new SearchMonitor());
+    private final LongAdder searches;
+    private final LongAdder totalNodes;
+    private final LongAdder totalEvaluations;
+    private final LongAdder totalSearchMillis;
+    private volatile SearchStats lastSearch;
+    private SearchMonitor(){
+        this.searches = new LongAdder();
+        this.totalNodes = new LongAdder();
+        this.totalEvaluations = new LongAdder();
+        this.totalSearchMillis = new LongAdder();
+        this.lastSearch = SearchStats.NONE;
+    }
+    //A monitor left registered by an earlier class loader is replaced. If the MBean server refuses the monitor it
+    //keeps collecting unregistered, the search should not fail over monitoring. The note goes to stderr as stdout
+    //may be a UCI channel.
+    private static SearchMonitor register(final SearchMonitor monitor){
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, name);
+            } catch (final InstanceAlreadyExistsException e){
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+                ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, name);
+            }
+        } catch (final JMException | RuntimeException e){
+            System.err.println("Search monitor not registered as " + OBJECT_NAME + ": " + e);
+        }
+        return monitor;
+    }
+    public static SearchMonitor get(){
+        return INSTANCE;
+    }
+    void record(final SearchStats stats){
+        this.searches.increment();
+        this.totalNodes.add(stats.getNodes());
+        this.totalEvaluations.add(stats.getEvaluations());
+        this.totalSearchMillis.add(stats.getElapsedMillis());
+        this.lastSearch = stats;
+    }
+    public SearchStats getLastSearch(){
+        return this.lastSearch;
+    }
+    @Override
+    public long getSearches(){
+        return this.searches.sum();
+    }
+    @Override
+    public long getTotalNodes(){
+        return this.totalNodes.sum();
+    }
+    @Override
+    public long getTotalEvaluations(){
+        return this.totalEvaluations.sum();
+    }
+    @Override
+    public long getTotalSearchMillis(){
+        return this.totalSearchMillis.sum();
+    }
+    @Override
+    public double getAverageNodesPerSecond(){
+        final long millis = getTotalSearchMillis();
+        return millis == 0 ? 0.0 : getTotalNodes() * 1000.0 / millis;
+    }
+    @Override
+    public long getLastNodes(){
+        return this.lastSearch.getNodes();
+    }
+    @Override
+    public long getLastQuiescenceNodes(){
+        return this.lastSearch.getQuiescenceNodes();
+    }
+    @Override
+    public long getLastEvaluations(){
+        return this.lastSearch.getEvaluations();
+    }
+    @Override
+    public long getLastElapsedMillis(){
+        return this.lastSearch.getElapsedMillis();
+    }
+    @Override
+    public double getLastNodesPerSecond(){
+        return this.lastSearch.getNodesPerSecond();
+    }
+    @Override
+    public int getLastCompletedDepth(){
+        return this.lastSearch.getCompletedDepth();
+    }
+    @Override
+    public long[] getLastIterationMillis(){
+        final List<Long> iterationMillis = this.lastSearch.getIterationMillis();
+        final long[] millis = new long[iterationMillis.size()];
+        for (int i = 0; i < millis.length; i++){
+            millis[i] = iterationMillis.get(i);
+        }
+        return millis;
+    }
+    @Override
+    public double getLastEffectiveBranchingFactor(){
+        return this.lastSearch.getEffectiveBranchingFactor();
+    }
+    @Override
+    public long getLastBetaCutoffs(){
+        return this.lastSearch.getBetaCutoffs();
+    }
+    @Override
+    public double getLastFirstMoveCutoffRate(){
+        return this.lastSearch.getFirstMoveCutoffRate();
+    }
+    @Override
+    public double getLastTranspositionHitRate(){
+        return this.lastSearch.getTranspositionHitRate();
+    }
+    @Override
+    public double getLastPawnHashHitRate(){
+        return this.lastSearch.getPawnHashHitRate();
+    }
+    @Override
+    public void reset(){
+        this.searches.reset();
+        this.totalNodes.reset();
+        this.totalEvaluations.reset();
+        this.totalSearchMillis.reset();
+        this.lastSearch = SearchStats.NONE;
+    }
+}
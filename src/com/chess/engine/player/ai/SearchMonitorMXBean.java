@@ -0,0 +1,23 @@
+package com.chess.engine.player.ai;
+//Engine throughput as seen over JMX, under SearchMonitor.OBJECT_NAME. The totals run over every search since
+//start up or the last reset, the Last attributes describe the most recent search, see SearchStats.
+public interface SearchMonitorMXBean {
+    long getSearches();
+    long getTotalNodes();
+    long getTotalEvaluations();
+    long getTotalSearchMillis();
+    double getAverageNodesPerSecond();
+    long getLastNodes();
+    long getLastQuiescenceNodes();
+    long getLastEvaluations();
+    long getLastElapsedMillis();
+    double getLastNodesPerSecond();
+    int getLastCompletedDepth();
+    long[] getLastIterationMillis();
+    double getLastEffectiveBranchingFactor();
+    long getLastBetaCutoffs();
+    double getLastFirstMoveCutoffRate();
+    double getLastTranspositionHitRate();
+    double getLastPawnHashHitRate();
+    void reset();
+}
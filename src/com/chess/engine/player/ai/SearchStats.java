@@ -0,0 +1,156 @@
+package com.chess.engine.player.ai;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+//What one run of a MoveStrategy did: how many nodes it searched and how fast, how deep it got and what every
+//finished iteration cost, how well its cutoffs and caches worked. Hit rates count only the probes of this run.
+public final class SearchStats {
+    public static final SearchStats NONE = new Builder().build();
+    private final long nodes;
+    private final long quiescenceNodes;
+    private final long evaluations;
+    private final long elapsedMillis;
+    private final int completedDepth;
+    private final List<Long> iterationNodes;
+    private final List<Long> iterationMillis;
+    private final long betaCutoffs;
+    private final double firstMoveCutoffRate;
+    private final double transpositionHitRate;
+    private final double pawnHashHitRate;
+    private SearchStats(final Builder builder){
+        this.nodes = builder.nodes;
+        this.quiescenceNodes = builder.quiescenceNodes;
+        this.evaluations = builder.evaluations;
+        this.elapsedMillis = builder.elapsedMillis;
+        this.completedDepth = builder.completedDepth;
+        this.iterationNodes = Collections.unmodifiableList(new ArrayList<>(builder.iterationNodes));
+        this.iterationMillis = Collections.unmodifiableList(new ArrayList<>(builder.iterationMillis));
+        this.betaCutoffs = builder.betaCutoffs;
+        this.firstMoveCutoffRate = builder.firstMoveCutoffRate;
+        this.transpositionHitRate = builder.transpositionHitRate;
+        this.pawnHashHitRate = builder.pawnHashHitRate;
+    }
+    //Full width and quiescence nodes together.
+    public long getNodes(){
+        return this.nodes;
+    }
+    public long getQuiescenceNodes(){
+        return this.quiescenceNodes;
+    }
+    //Calls to the board evaluator, at the horizon, in quiescence and at positions without a legal move.
+    public long getEvaluations(){
+        return this.evaluations;
+    }
+    public long getElapsedMillis(){
+        return this.elapsedMillis;
+    }
+    public double getNodesPerSecond(){
+        return this.elapsedMillis == 0 ? this.nodes * 1000.0 : this.nodes * 1000.0 / this.elapsedMillis;
+    }
+    public int getCompletedDepth(){
+        return this.completedDepth;
+    }
+    //Nodes and milliseconds spent on each finished iteration of an iterative deepening search, the first entry
+    //is depth 1. Empty for a fixed depth search.
+    public List<Long> getIterationNodes(){
+        return this.iterationNodes;
+    }
+    public List<Long> getIterationMillis(){
+        return this.iterationMillis;
+    }
+    //How many times more nodes the last iteration took than the one before. With a single iteration it is the
+    //branching factor a uniform tree of that depth and size would have.
+    public double getEffectiveBranchingFactor(){
+        final int iterations = this.iterationNodes.size();
+        if (iterations >= 2 && this.iterationNodes.get(iterations - 2) > 0){
+            return (double) this.iterationNodes.get(iterations - 1) / this.iterationNodes.get(iterations - 2);
+        }
+        return this.completedDepth == 0 ? 0.0 : Math.pow(this.nodes, 1.0 / this.completedDepth);
+    }
+    public long getBetaCutoffs(){
+        return this.betaCutoffs;
+    }
+    public double getFirstMoveCutoffRate(){
+        return this.firstMoveCutoffRate;
+    }
+    public double getTranspositionHitRate(){
+        return this.transpositionHitRate;
+    }
+    public double getPawnHashHitRate(){
+        return this.pawnHashHitRate;
+    }
+    @Override
+    public String toString(){
+        return String.format("depth %d, %d nodes (%d quiescence), %d evaluations in %d ms, %.0f nodes/s, " +
+                        "branching %.2f, %d cutoffs (%.1f%% first move), tt hits %.1f%%, pawn hits %.1f%%",
+                this.completedDepth, this.nodes, this.quiescenceNodes, this.evaluations, this.elapsedMillis,
+                getNodesPerSecond(), getEffectiveBranchingFactor(), this.betaCutoffs, this.firstMoveCutoffRate * 100,
+                this.transpositionHitRate * 100, this.pawnHashHitRate * 100);
+    }
+    //Hit rate of the probes made between two readings of a cache's cumulative counters.
+    static double hitRate(final long probes, final long hits){
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+    public static class Builder{
+        long nodes;
+        long quiescenceNodes;
+        long evaluations;
+        long elapsedMillis;
+        int completedDepth;
+        final List<Long> iterationNodes;
+        final List<Long> iterationMillis;
+        long betaCutoffs;
+        double firstMoveCutoffRate;
+        double transpositionHitRate;
+        double pawnHashHitRate;
+        public Builder(){
+            this.iterationNodes = new ArrayList<>();
+            this.iterationMillis = new ArrayList<>();
+        }
+        public Builder setNodes(final long nodes){
+            this.nodes = nodes;
+            return this;
+        }
+        public Builder setQuiescenceNodes(final long quiescenceNodes){
+            this.quiescenceNodes = quiescenceNodes;
+            return this;
+        }
+        public Builder setEvaluations(final long evaluations){
+            this.evaluations = evaluations;
+            return this;
+        }
+        public Builder setElapsedMillis(final long elapsedMillis){
+            this.elapsedMillis = elapsedMillis;
+            return this;
+        }
+        public Builder setCompletedDepth(final int completedDepth){
+            this.completedDepth = completedDepth;
+            return this;
+        }
+        //Iterative deepening adds each finished iteration in depth order, a fixed depth search adds none.
+        public Builder addIteration(final long nodes, final long millis){
+            this.iterationNodes.add(nodes);
+            this.iterationMillis.add(millis);
+            return this;
+        }
+        public Builder setBetaCutoffs(final long betaCutoffs){
+            this.betaCutoffs = betaCutoffs;
+            return this;
+        }
+        public Builder setFirstMoveCutoffRate(final double firstMoveCutoffRate){
+            this.firstMoveCutoffRate = firstMoveCutoffRate;
+            return this;
+        }
+        public Builder setTranspositionHitRate(final double transpositionHitRate){
+            this.transpositionHitRate = transpositionHitRate;
+            return this;
+        }
+        public Builder setPawnHashHitRate(final double pawnHashHitRate){
+            this.pawnHashHitRate = pawnHashHitRate;
+            return this;
+        }
+        public SearchStats build(){
+            return new SearchStats(this);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.chess.engine.player.ai;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+//The part of an AlphaBeta search that belongs to one thread: its own SearchBoard, move buffers, killers and history,
+//pawn hash table and node counts. Workers share only the transposition table and the stop flag of the AlphaBeta
+//that owns them.
+final class SearchWorker {
+    static final int INFINITY = 1_000_000_000;
+    private static final int NODE_REPORT_INTERVAL = 1024;
+    private static final int MAX_QUIESCENCE_PLY = 32;
+    private final AlphaBeta search;
+    private final BoardEvaluator boardEvaluator;
+    private final PawnHashTable pawnHashTable;
+    private final TranspositionTable transpositionTable;
+    private final boolean useQuiescence;
+    private final int[][] moveBuffers;
+    private final int[][] scoreBuffers;
+    private final int[][] quiescenceMoveBuffers;
+    private final int[][] quiescenceScoreBuffers;
+    private final MoveOrdering moveOrdering;
+    private SearchBoard board;
+    private long nodesSearched;
+    private long quiescenceNodes;
+    private long evaluations;
+    private long reportedNodes;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    SearchWorker(final AlphaBeta search, final int maxDepth, final TranspositionTable transpositionTable,
+                 final boolean useQuiescence){
+        this.search = search;
+        this.pawnHashTable = new PawnHashTable(PawnHashTable.DEFAULT_SIZE_KB);
+        this.boardEvaluator = new StandardBoardEvaluator(this.pawnHashTable);
+        this.transpositionTable = transpositionTable;
+        this.useQuiescence = useQuiescence;
+        this.moveBuffers = new int[maxDepth + 1][SearchBoard.MAX_MOVES];
+        this.scoreBuffers = new int[maxDepth + 1][SearchBoard.MAX_MOVES];
+        this.quiescenceMoveBuffers = new int[MAX_QUIESCENCE_PLY + 1][SearchBoard.MAX_MOVES];
+        this.quiescenceScoreBuffers = new int[MAX_QUIESCENCE_PLY + 1][SearchBoard.MAX_MOVES];
+        this.moveOrdering = new MoveOrdering(maxDepth);
+    }
+    void newSearch(final Board rootBoard){
+        this.board = new SearchBoard(rootBoard);
+        this.nodesSearched = 0;
+        this.quiescenceNodes = 0;
+        this.evaluations = 0;
+        this.reportedNodes = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.moveOrdering.newSearch();
+    }
+    SearchBoard getBoard(){
+        return this.board;
+    }
+    long getNodesSearched(){
+        return this.nodesSearched;
+    }
+    long getQuiescenceNodes(){
+        return this.quiescenceNodes;
+    }
+    long getEvaluations(){
+        return this.evaluations;
+    }
+    PawnHashTable getPawnHashTable(){
+        return this.pawnHashTable;
+    }
+    long getBetaCutoffs(){
+        return this.betaCutoffs;
+    }
+    long getFirstMoveCutoffs(){
+        return this.firstMoveCutoffs;
+    }
+    //Score of one root move for the side to move at the root, exact when it is above alpha.
+    int searchRootMove(final int move, final int depth, final int alpha){
+        this.board.makeMove(move);
+        final int value = -alphaBeta(depth - 1, -INFINITY, -alpha);
+        this.board.unmakeMove();
+        return value;
+    }
+    private int alphaBeta(final int depth, int alpha, int beta){
+        this.nodesSearched++;
+        if (shouldStop()){
+            return 0;
+        }
+        if (depth == 0){
+            return this.useQuiescence ? quiescence(alpha, beta, 0) : evaluate(depth);
+        }
+        final int originalAlpha = alpha;
+        final long entry = probe();
+        final int hashMove = entry != TranspositionTable.NO_ENTRY ? TranspositionTable.getMove(entry) : PackedMove.NO_MOVE;
+        if (entry != TranspositionTable.NO_ENTRY && TranspositionTable.getDepth(entry) >= depth){
+            final int score = StandardBoardEvaluator.fromTranspositionScore(TranspositionTable.getScore(entry),
+                    this.board.getPly());
+            final int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT ||
+                    (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                    (bound == TranspositionTable.UPPER_BOUND && score <= alpha)){
+                return score;
+            }
+        }
+        final int[] moves = this.moveBuffers[depth];
+        final int numMoves = this.board.generateLegalMoves(moves);
+        if (numMoves == 0){
+            return evaluate(depth);
+        }
+        final int[] scores = this.scoreBuffers[depth];
+        final int ply = this.board.getPly();
+        this.moveOrdering.scoreMoves(this.board, moves, scores, numMoves, hashMove, ply);
+        int bestValue = -INFINITY;
+        int bestMove = PackedMove.NO_MOVE;
+        for (int i = 0; i < numMoves; i++){
+            final int move = MoveOrdering.selectNext(moves, scores, i, numMoves);
+            this.board.makeMove(move);
+            final int currentValue = -alphaBeta(depth - 1, -beta, -alpha);
+            this.board.unmakeMove();
+            if (this.search.isStopped()){
+                return 0;
+            }
+            if (currentValue > bestValue){
+                bestValue = currentValue;
+                bestMove = move;
+                if (currentValue > alpha){
+                    alpha = currentValue;
+                    if (alpha >= beta){
+                        recordCutoff(move, depth, ply, i);
+                        break;
+                    }
+                }
+            }
+        }
+        store(depth, bestValue, bestValue <= originalAlpha ? TranspositionTable.UPPER_BOUND :
+                bestValue >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT, bestMove);
+        return bestValue;
+    }
+    //Searches captures until the position is quiet so the horizon is never evaluated halfway through an exchange.
+    //The side to move may stand pat on the static score instead of capturing, unless it is in check, then every
+    //evasion is searched.
+    private int quiescence(int alpha, final int beta, final int quiescencePly){
+        if (quiescencePly > 0 && shouldStop()){
+            return 0;
+        }
+        final boolean inCheck = this.board.isInCheck(this.board.getSideToMove());
+        final int[] moves = this.quiescenceMoveBuffers[quiescencePly];
+        int bestValue = -INFINITY;
+        final int numMoves;
+        if (inCheck && quiescencePly < MAX_QUIESCENCE_PLY){
+            numMoves = this.board.generateLegalMoves(moves);
+            if (numMoves == 0){
+                return evaluate(0);
+            }
+        } else {
+            bestValue = evaluate(0);
+            if (bestValue >= beta || quiescencePly == MAX_QUIESCENCE_PLY){
+                return bestValue;
+            }
+            alpha = Math.max(alpha, bestValue);
+            numMoves = this.board.generateLegalCaptures(moves);
+        }
+        final int[] scores = this.quiescenceScoreBuffers[quiescencePly];
+        MoveOrdering.scoreCaptures(this.board, moves, scores, numMoves);
+        for (int i = 0; i < numMoves; i++){
+            final int move = MoveOrdering.selectNext(moves, scores, i, numMoves);
+            this.board.makeMove(move);
+            this.quiescenceNodes++;
+            final int currentValue = -quiescence(-beta, -alpha, quiescencePly + 1);
+            this.board.unmakeMove();
+            if (this.search.isStopped()){
+                return 0;
+            }
+            if (currentValue > bestValue){
+                bestValue = currentValue;
+                if (currentValue > alpha){
+                    alpha = currentValue;
+                    if (alpha >= beta){
+                        break;
+                    }
+                }
+            }
+        }
+        return bestValue;
+    }
+    private void recordCutoff(final int move, final int depth, final int ply, final int moveIndex){
+        this.betaCutoffs++;
+        if (moveIndex == 0){
+            this.firstMoveCutoffs++;
+        }
+        if (!PackedMove.isCapture(move)){
+            this.moveOrdering.recordCutoff(move, depth, ply);
+        }
+    }
+    //Nodes are handed to the shared count in batches, so the limits are checked without contention between threads.
+    private boolean shouldStop(){
+        final long nodes = this.nodesSearched + this.quiescenceNodes;
+        final long unreported = nodes - this.reportedNodes;
+        if (unreported >= NODE_REPORT_INTERVAL){
+            this.reportedNodes = nodes;
+            return this.search.checkLimits(unreported, 0);
+        }
+        return this.search.checkLimits(0, unreported);
+    }
+    private int evaluate(final int depth){
+        this.evaluations++;
+        final int score = this.boardEvaluator.evaluate(this.board, depth);
+        return this.board.getSideToMove().isWhite() ? score : -score;
+    }
+    private long probe(){
+        return this.transpositionTable != null ?
+                this.transpositionTable.probe(this.board.getZobristKey()) : TranspositionTable.NO_ENTRY;
+    }
+    private void store(final int depth, final int score, final int bound, final int bestMove){
+        if (this.transpositionTable != null){
+            this.transpositionTable.store(this.board.getZobristKey(), depth,
+                    StandardBoardEvaluator.toTranspositionScore(score, this.board.getPly()), bound, bestMove);
+        }
+    }
+}
@@ -1,39 +1,147 @@
 package com.chess.engine.player.ai;
+import com.chess.engine.Team;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
-import com.chess.engine.piece.Piece;
-import com.chess.engine.player.Player;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.PieceSquareTables;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.piece.Piece.PieceType;
 public final class StandardBoardEvaluator implements BoardEvaluator {
     private static final int CHECK_BONUS = 50;
-    private static final int CHECK_MATE_BONUS = 10000;
-    private static final int DEPTH_BONUS = 100;
+    //A mate is worth CHECK_MATE_BONUS less MATE_PLY_PENALTY for every ply between the search root and the mated
+    //position, so the shortest mate scores highest whichever iteration found it. Anything past MATE_THRESHOLD is a mate.
+    private static final int CHECK_MATE_BONUS = 1_000_000;
+    private static final int MATE_PLY_PENALTY = 100;
+    private static final int MATE_THRESHOLD = CHECK_MATE_BONUS / 2;
     private static final int CASTLE_BONUS = 60;
+    private static final int DOUBLED_PAWN_PENALTY = 15;
+    private static final int ISOLATED_PAWN_PENALTY = 15;
+    //Indexed by how many ranks a passed pawn has advanced from its starting rank.
+    private static final int[] PASSED_PAWN_MIDDLEGAME = {0, 5, 10, 15, 25, 40};
+    private static final int[] PASSED_PAWN_ENDGAME = {0, 10, 20, 35, 55, 85};
+    private static final long[] FILES = new long[BoardUtils.Num_Tiles_Row];
+    private static final long[] ADJACENT_FILES = new long[BoardUtils.Num_Tiles_Row];
+    //The squares in front of a pawn on its own and the adjacent files, no enemy pawn there means it is passed.
+    private static final long[][] PASSED_PAWN_SPANS = new long[Team.values().length][BoardUtils.Num_Tiles];
+    static {
+        for (int file = 0; file < BoardUtils.Num_Tiles_Row; file++){
+            FILES[file] = BitBoards.FILE_A << file;
+        }
+        for (int file = 0; file < BoardUtils.Num_Tiles_Row; file++){
+            ADJACENT_FILES[file] = (file > 0 ? FILES[file - 1] : 0L) | (file < 7 ? FILES[file + 1] : 0L);
+        }
+        for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+            final int row = coordinate / BoardUtils.Num_Tiles_Row;
+            final long span = FILES[coordinate % BoardUtils.Num_Tiles_Row] |
+                    ADJACENT_FILES[coordinate % BoardUtils.Num_Tiles_Row];
+            PASSED_PAWN_SPANS[Team.WHITE.ordinal()][coordinate] = span & ((1L << (row * BoardUtils.Num_Tiles_Row)) - 1);
+            PASSED_PAWN_SPANS[Team.BLACK.ordinal()][coordinate] = row == 7 ? 0L :
+                    span & -(1L << ((row + 1) * BoardUtils.Num_Tiles_Row));
+        }
+    }
+    private final PawnHashTable pawnHashTable;
+    public StandardBoardEvaluator(){
+        this(new PawnHashTable(PawnHashTable.DEFAULT_SIZE_KB));
+    }
+    public StandardBoardEvaluator(final PawnHashTable pawnHashTable){
+        this.pawnHashTable = pawnHashTable;
+    }
+    public PawnHashTable getPawnHashTable(){
+        return this.pawnHashTable;
+    }
     @Override
     public int evaluate(final Board board, final int depth) {
-        return scorePlayer(board, board.whitePlayer(), depth) - scorePlayer(board, board.blackPlayer(), depth);
+        return evaluate(new SearchBoard(board), depth);
     }
-    private int scorePlayer(final Board board, final Player player, final int depth) {
-        return pieceValue(player) + mobility(player) + check(player) + checkMate(player, depth) + castle(player);
+    @Override
+    public int evaluate(final SearchBoard board, final int depth) {
+        return scoreTeam(board, Team.WHITE) - scoreTeam(board, Team.BLACK) + pawnStructure(board);
     }
-    private static int castle(final Player player) {
-        return player.isCastled() ? CASTLE_BONUS : 0;
+    //Mobility is counted from the attack bitboards, legal moves are only generated for a side in check.
+    private static int scoreTeam(final SearchBoard board, final Team team) {
+        return pieceValue(board, team) + pieceSquares(board, team) + board.countMobility(team) + check(board, team) +
+                checkMate(board, team) + castle(board, team);
     }
-    private static int checkMate(final Player player, int depth) {
-        return player.getOpponent().isInCheckMate() ? CHECK_MATE_BONUS * depthBonus(depth) : 0;
+    private static int castle(final SearchBoard board, final Team team) {
+        return board.isCastled(team) ? CASTLE_BONUS : 0;
     }
-    private static int depthBonus(int depth){
-        return depth == 0 ? 1 : DEPTH_BONUS * depth;
+    private static int checkMate(final SearchBoard board, final Team team) {
+        return board.isInCheck(team.opposite()) && board.countLegalMoves(team.opposite()) == 0 ?
+                CHECK_MATE_BONUS - MATE_PLY_PENALTY * board.getPly() : 0;
     }
-    private static int check(final Player player) {
-        return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
+    //The transposition table keeps a mate by its distance from the stored position instead of from the root, so
+    //the entry stays right when the position is reached at another ply or from another root.
+    static int toTranspositionScore(final int score, final int ply){
+        if (score > MATE_THRESHOLD){
+            return score + MATE_PLY_PENALTY * ply;
+        }
+        return score < -MATE_THRESHOLD ? score - MATE_PLY_PENALTY * ply : score;
     }
-    private static int mobility(final Player player) {
-        return player.getLegalMoves().size();
+    static int fromTranspositionScore(final int score, final int ply){
+        if (score > MATE_THRESHOLD){
+            return score - MATE_PLY_PENALTY * ply;
+        }
+        return score < -MATE_THRESHOLD ? score + MATE_PLY_PENALTY * ply : score;
+    }
+    private static int check(final SearchBoard board, final Team team) {
+        return board.isInCheck(team.opposite()) ? CHECK_BONUS : 0;
+    }
+    private static int pieceValue(final SearchBoard board, final Team team){
+        return board.getMaterial(team);
+    }
+    //Middlegame and endgame placement blended by how much material is left on the board.
+    private static int pieceSquares(final SearchBoard board, final Team team){
+        return PieceSquareTables.taper(board.getMiddlegameScore(team), board.getEndgameScore(team), board.getPhase());
+    }
+    //White's pawn structure minus Black's. Doubled and isolated pawns are scored once per pawn structure and
+    //kept in the pawn hash table with the passed pawns, whose bonus depends on the game phase and is added here.
+    private int pawnStructure(final SearchBoard board){
+        int slot = this.pawnHashTable.probe(board.getPawnKey());
+        if (slot == PawnHashTable.MISS){
+            final long whitePawns = board.getPieceBitBoard(Team.WHITE, PieceType.PAWN);
+            final long blackPawns = board.getPieceBitBoard(Team.BLACK, PieceType.PAWN);
+            slot = this.pawnHashTable.store(board.getPawnKey(),
+                    pawnWeaknesses(blackPawns) - pawnWeaknesses(whitePawns),
+                    passedPawns(Team.WHITE, whitePawns, blackPawns) | passedPawns(Team.BLACK, blackPawns, whitePawns));
+        }
+        final long passedPawns = this.pawnHashTable.getPassedPawns(slot);
+        return this.pawnHashTable.getScore(slot) +
+                passedPawnBonus(board, passedPawns & board.getPieceBitBoard(Team.WHITE, PieceType.PAWN), Team.WHITE) -
+                passedPawnBonus(board, passedPawns & board.getPieceBitBoard(Team.BLACK, PieceType.PAWN), Team.BLACK);
+    }
+    private static int pawnWeaknesses(final long pawns){
+        int penalty = 0;
+        for (int file = 0; file < BoardUtils.Num_Tiles_Row; file++){
+            final int pawnsOnFile = BitBoards.count(pawns & FILES[file]);
+            if (pawnsOnFile > 1){
+                penalty += DOUBLED_PAWN_PENALTY * (pawnsOnFile - 1);
+            }
+            if ((pawns & ADJACENT_FILES[file]) == 0L){
+                penalty += ISOLATED_PAWN_PENALTY * pawnsOnFile;
+            }
+        }
+        return penalty;
+    }
+    private static long passedPawns(final Team team, final long pawns, final long opponentPawns){
+        long passedPawns = 0L;
+        for (long remaining = pawns; remaining != BitBoards.EMPTY; remaining = BitBoards.clearFirstSquare(remaining)){
+            final int coordinate = BitBoards.firstSquare(remaining);
+            if ((PASSED_PAWN_SPANS[team.ordinal()][coordinate] & opponentPawns) == 0L){
+                passedPawns |= BitBoards.squareMask(coordinate);
+            }
+        }
+        return passedPawns;
     }
-    private static int pieceValue(final Player player){
-        int pieceValueScore = 0;
-        for (final Piece piece : player.getActivePieces()){
-            pieceValueScore += piece.getPieceValue();
+    //A passed pawn is worth more the further it has run and the less material is left to stop it.
+    private static int passedPawnBonus(final SearchBoard board, final long passedPawns, final Team team){
+        int middlegameBonus = 0;
+        int endgameBonus = 0;
+        for (long pawns = passedPawns; pawns != BitBoards.EMPTY; pawns = BitBoards.clearFirstSquare(pawns)){
+            final int row = BitBoards.firstSquare(pawns) / BoardUtils.Num_Tiles_Row;
+            final int advance = team.isWhite() ? 6 - row : row - 1;
+            middlegameBonus += PASSED_PAWN_MIDDLEGAME[advance];
+            endgameBonus += PASSED_PAWN_ENDGAME[advance];
         }
-        return pieceValueScore;
+        return PieceSquareTables.taper(middlegameBonus, endgameBonus, board.getPhase());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package com.chess.engine.player.ai;
+import com.chess.engine.board.PackedMove;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+//Fixed size hash of searched positions. Each slot is two longs: the entry data, and the Zobrist key xored
+//with that data. Threads read and write without locks, a slot torn by two writers no longer matches its key
+//on the next probe and is treated as a miss.
+public final class TranspositionTable {
+    public static final long NO_ENTRY = 0L;
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int MAX_DEPTH = 0xFF;
+    private static final int AGE_MASK = 0x3F;
+    private static final int MOVE_MASK = PackedMove.KEY_MASK;
+    private final long[] keys;
+    private final long[] entries;
+    private final int indexMask;
+    private final ReplacementPolicy replacementPolicy;
+    private final LongAdder probes;
+    private final LongAdder hits;
+    private final AtomicLong usedEntries;
+    private volatile int age;
+    public TranspositionTable(final int sizeInMB){
+        this(sizeInMB, ReplacementPolicy.DEPTH_PREFERRED);
+    }
+    public TranspositionTable(final int sizeInMB, final ReplacementPolicy replacementPolicy){
+        if (sizeInMB <= 0){
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB, got " + sizeInMB);
+        }
+        final long budget = (long) sizeInMB * 1024 * 1024 / BYTES_PER_ENTRY;
+        final int size = (int) Long.highestOneBit(Math.min(budget, 1L << 30));
+        this.keys = new long[size];
+        this.entries = new long[size];
+        this.indexMask = size - 1;
+        this.replacementPolicy = replacementPolicy;
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+        this.usedEntries = new AtomicLong();
+        this.age = 0;
+    }
+    //Entry layout: score in the low 32 bits, then depth (8), bound (2), age (6) and move (16). Only the key bits of
+    //the move are kept, see PackedMove.getKey.
+    public static int getScore(final long entry){
+        return (int) entry;
+    }
+    public static int getDepth(final long entry){
+        return (int) (entry >>> 32) & MAX_DEPTH;
+    }
+    public static int getBound(final long entry){
+        return (int) (entry >>> 40) & 0x3;
+    }
+    private static int getAge(final long entry){
+        return (int) (entry >>> 42) & AGE_MASK;
+    }
+    public static int getMove(final long entry){
+        return (int) (entry >>> 48) & MOVE_MASK;
+    }
+    private long createEntry(final int depth, final int score, final int bound, final int move){
+        return (score & 0xFFFFFFFFL) |
+                ((long) Math.min(depth, MAX_DEPTH) << 32) |
+                ((long) bound << 40) |
+                ((long) this.age << 42) |
+                ((long) (move & MOVE_MASK) << 48);
+    }
+    //Returns NO_ENTRY on a miss, the bound field of a stored entry is never zero.
+    public long probe(final long zobristKey){
+        final int index = (int) zobristKey & this.indexMask;
+        final long entry = this.entries[index];
+        this.probes.increment();
+        if (entry != NO_ENTRY && (this.keys[index] ^ entry) == zobristKey){
+            this.hits.increment();
+            return entry;
+        }
+        return NO_ENTRY;
+    }
+    public void store(final long zobristKey, final int depth, final int score, final int bound, final int move){
+        final int index = (int) zobristKey & this.indexMask;
+        final long storedEntry = this.entries[index];
+        if (storedEntry != NO_ENTRY &&
+                !this.replacementPolicy.shouldReplace((this.keys[index] ^ storedEntry) == zobristKey,
+                        getDepth(storedEntry), getAge(storedEntry) == this.age, depth)){
+            return;
+        }
+        final long entry = createEntry(depth, score, bound, move);
+        this.entries[index] = entry;
+        this.keys[index] = zobristKey ^ entry;
+        if (storedEntry == NO_ENTRY){
+            this.usedEntries.incrementAndGet();
+        }
+    }
+    //Entries from earlier searches stay usable but the depth preferred policy lets new entries replace them.
+    public void newSearch(){
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+    public void clear(){
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.entries, NO_ENTRY);
+        this.usedEntries.set(0);
+        this.probes.reset();
+        this.hits.reset();
+        this.age = 0;
+    }
+    public int size(){
+        return this.entries.length;
+    }
+    public long getProbes(){
+        return this.probes.sum();
+    }
+    public long getHits(){
+        return this.hits.sum();
+    }
+    public double getHitRate(){
+        final long probeCount = getProbes();
+        return probeCount == 0 ? 0.0 : (double) getHits() / probeCount;
+    }
+    public double getFillRate(){
+        return (double) this.usedEntries.get() / size();
+    }
+    public enum ReplacementPolicy {
+        ALWAYS_REPLACE {
+            @Override
+            boolean shouldReplace(final boolean isSamePosition, final int storedDepth,
+                                  final boolean isCurrentSearch, final int depth) {
+                return true;
+            }
+        },
+        DEPTH_PREFERRED {
+            @Override
+            boolean shouldReplace(final boolean isSamePosition, final int storedDepth,
+                                  final boolean isCurrentSearch, final int depth) {
+                return isSamePosition || !isCurrentSearch || depth >= storedDepth;
+            }
+        };
+        abstract boolean shouldReplace(boolean isSamePosition, int storedDepth, boolean isCurrentSearch, int depth);
+    }
+}
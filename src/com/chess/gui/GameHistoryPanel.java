@@ -2,6 +2,7 @@ package com.chess.gui;
 import com.chess.engine.Team;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.player.GameStatus;
 import com.chess.gui.Table.MoveLog;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -50,10 +51,11 @@ public class GameHistoryPanel extends JPanel{
         vertical.setValue(vertical.getMaximum());
     }
     private String calculateCheckAndCheckMate(final Board board) {
-        if (board.currentPlayer().isInCheckMate()){
+        final GameStatus gameStatus = board.currentPlayer().getGameStatus();
+        if (gameStatus == GameStatus.CHECKMATE){
             return "#";
         }
-        else if (board.currentPlayer().isInCheck()){
+        else if (gameStatus.isInCheck()){
             return "+";
         }
         return "";
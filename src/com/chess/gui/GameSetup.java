@@ -1,6 +1,7 @@
 package com.chess.gui;
 import com.chess.engine.Team;
 import com.chess.engine.player.Player;
+import com.chess.engine.player.ai.SearchLimits;
 import com.chess.gui.Table.PlayerType;
 import javax.swing.*;
 import java.awt.*;
@@ -10,6 +11,7 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner searchDepthSpinner;
+    private JSpinner moveTimeSpinner;
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
     GameSetup(final JFrame frame,
@@ -38,7 +40,9 @@ class GameSetup extends JDialog {
         myPanel.add(blackComputerButton);
         myPanel.add(new JLabel("Search"));
         this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth",
-                new SpinnerNumberModel(6, 0, Integer.MAX_VALUE, 1));
+                new SpinnerNumberModel(6, 1, SearchLimits.MAX_DEPTH, 1));
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Seconds Per Move",
+                new SpinnerNumberModel(5, 1, Integer.MAX_VALUE, 1));
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
         okButton.addActionListener(new ActionListener() {
@@ -89,4 +93,7 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer)this.searchDepthSpinner.getValue();
     }
+    long getMoveTimeMillis() {
+        return (Integer)this.moveTimeSpinner.getValue() * 1000L;
+    }
 }
\ No newline at end of file
@@ -5,9 +5,12 @@ import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.piece.Piece;
+import com.chess.engine.player.GameStatus;
 import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.ai.MiniMax;
-import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.Player;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.TranspositionTable;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.text.TabableView;
@@ -30,6 +33,8 @@ public class Table extends Observable {
     private final BoardPanel boardPanel;
     private final MoveLog moveLog;
     private final GameSetup gameSetup;
+    private final TranspositionTable transpositionTable;
+    private final AlphaBeta alphaBeta;
     private Board chessBoard;
     private Tile sourceTile;
     private Tile destinationTile;
@@ -41,6 +46,7 @@ public class Table extends Observable {
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(600,600);
     private final static Dimension BOARD_PANEL_DIMENSION = new Dimension(400, 350);
     private final static Dimension TILE_PANEL_DIMENSION = new Dimension(10,10);
+    private static final int TRANSPOSITION_TABLE_MB = 32;
     private static final String defaultPieceImagePath = "Designs/Basic/";
     private final Color lightTileColor = Color.decode("#FFFACD");
     private final Color darkTileColor = Color.decode("#593E1A");
@@ -59,6 +65,13 @@ public class Table extends Observable {
         this.pieceChangeOption = false;
         this.boardPanel = new BoardPanel();
         this.moveLog = new MoveLog();
+        this.transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_MB);
+        //One search for the whole game, each move passes the depth and time chosen in the game setup.
+        this.alphaBeta = new AlphaBeta.Builder()
+                .setSearchLimits(SearchLimits.depth(SearchLimits.MAX_DEPTH))
+                .setTranspositionTable(this.transpositionTable)
+                .setThreads(Runtime.getRuntime().availableProcessors())
+                .build();
         this.addObserver(new TableGameAIWatcher());
         this.gameSetup = new GameSetup(this.gameFrame, true);
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
@@ -75,6 +88,9 @@ public class Table extends Observable {
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
         Table.get().getBoardPanel().drawBoard(Table.get().getGameBoard());
     }
+    private AlphaBeta getAlphaBeta() {
+        return this.alphaBeta;
+    }
     private GameSetup getGameSetup() {
         return this.gameSetup;
     }
@@ -102,6 +118,7 @@ public class Table extends Observable {
         exitMenu.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
+                Table.get().getAlphaBeta().close();
                 System.exit(0);
             }
         });
@@ -160,17 +177,17 @@ public class Table extends Observable {
     private static class TableGameAIWatcher implements Observer{
         @Override
         public void update(final Observable o, final Object arg) {
-            if (Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) &&
-                    !Table.get().getGameBoard().currentPlayer().isInCheckMate() &&
-                    !Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
+            final Player currentPlayer = Table.get().getGameBoard().currentPlayer();
+            final GameStatus gameStatus = currentPlayer.getGameStatus();
+            if (Table.get().getGameSetup().isAIPlayer(currentPlayer) && !gameStatus.isGameOver()) {
                 final AIThinkTank thinkTank = new AIThinkTank();
                     thinkTank.execute();
             }
-                if (Table.get().getGameBoard().currentPlayer().isInCheckMate()) {
-                    System.out.println("Game Over " + Table.get().getGameBoard().currentPlayer() + " is in checkmate");
+                if (gameStatus == GameStatus.CHECKMATE) {
+                    System.out.println("Game Over " + currentPlayer + " is in checkmate");
                 }
-                if (Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
-                    System.out.println("Game Over " + Table.get().getGameBoard().currentPlayer() + " is in stalemate");
+                if (gameStatus == GameStatus.STALEMATE) {
+                    System.out.println("Game Over " + currentPlayer + " is in stalemate");
                 }
         }
     }
@@ -201,8 +218,9 @@ public class Table extends Observable {
         }
         @Override
         protected Move doInBackground() throws Exception{
-            final MoveStrategy miniMax = new MiniMax(4);
-            final Move bestMove = miniMax.execute(Table.get().getGameBoard());
+            final GameSetup gameSetup = Table.get().getGameSetup();
+            final Move bestMove = Table.get().getAlphaBeta().execute(Table.get().getGameBoard(),
+                    new SearchLimits(gameSetup.getSearchDepth(), gameSetup.getMoveTimeMillis(), SearchLimits.NO_LIMIT));
             return bestMove;
         }
         @Override
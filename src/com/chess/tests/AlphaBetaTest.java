@@ -0,0 +1,177 @@
+package com.chess.tests;
+
+import com.chess.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.piece.Piece;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.PawnHashTable;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.SearchMonitor;
+import com.chess.engine.player.ai.SearchStats;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaTest {
+    private static final int DEPTH = 3;
+    private static final String[][] POSITIONS = {
+            {},
+            {"e2e4", "d7d5"},
+            {"e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6"},
+            {"e2e4", "e7e5", "f1c4", "b8c6", "d1h5", "g8f6"},
+            {"d2d4", "d7d5", "c2c4", "d5c4", "e2e3", "b7b5", "a2a4"},
+    };
+    @Test
+    public void sameMoveAsMiniMax(){
+        for (final String[] position : POSITIONS){
+            final Board board = BoardUtils.playMoves(Board.createStandardBoard(), position);
+            final MiniMax miniMax = new MiniMax(DEPTH);
+            final AlphaBeta alphaBeta = new AlphaBeta.Builder().setSearchLimits(SearchLimits.depth(DEPTH)).setQuiescence(false).build();
+            final Move miniMaxMove = miniMax.execute(board);
+            final Move alphaBetaMove = alphaBeta.execute(board);
+            assertEquals(miniMaxMove, alphaBetaMove);
+            assertTrue(alphaBeta.getNodesSearched() < miniMax.getNodesSearched());
+        }
+    }
+    @Test
+    public void findsMateInOne(){
+        final Board board = BoardUtils.playMoves(Board.createStandardBoard(),
+                "e2e4", "e7e5", "f1c4", "b8c6", "d1h5", "g8f6");
+        final Move move = new AlphaBeta(DEPTH).execute(board);
+        assertEquals(BoardUtils.getCoordinateAtPosition("f7"), move.getDestinationCoords());
+        assertTrue(board.currentPlayer().makeMove(move).getTransitionBoard().currentPlayer().isInCheckMate());
+    }
+    //Deeper iterations store longer mates in the shared table, the mate in one must still come out on top.
+    @Test
+    public void prefersShortestMateWithTranspositionTable(){
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/1Q3PPP/R5K1 w - - 0 1");
+        final Board mated = board.currentPlayer().makeMove(Move.MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition("a1"), BoardUtils.getCoordinateAtPosition("a8"))).getTransitionBoard();
+        final StandardBoardEvaluator evaluator = new StandardBoardEvaluator();
+        assertEquals(evaluator.evaluate(mated, 0), evaluator.evaluate(mated, 4));
+        final TranspositionTable transpositionTable = new TranspositionTable(1);
+        for (int search = 0; search < 2; search++){
+            final Move move = new AlphaBeta(5, transpositionTable).execute(board);
+            assertTrue(board.currentPlayer().makeMove(move).getTransitionBoard().currentPlayer().isInCheckMate());
+        }
+    }
+    @Test
+    public void quiescenceSeesRecapture(){
+        final Board board = BoardUtils.playMoves(Board.createStandardBoard(), "e2e4", "e7e5", "d1h5", "b8c6");
+        final AlphaBeta horizon = new AlphaBeta.Builder().setSearchLimits(SearchLimits.depth(1)).setQuiescence(false).build();
+        assertTrue(isQueenCapture(horizon.execute(board)));
+        assertEquals(0, horizon.getQuiescenceNodes());
+        final AlphaBeta quiescence = new AlphaBeta.Builder().setSearchLimits(SearchLimits.depth(1)).build();
+        assertFalse(isQueenCapture(quiescence.execute(board)));
+        assertTrue(quiescence.getQuiescenceNodes() > 0);
+    }
+    @Test
+    public void pawnHashTableCachesStructure(){
+        final Board board = BoardUtils.playMoves(Board.createStandardBoard(), "e2e4", "d7d5", "e4d5", "d8d5");
+        final StandardBoardEvaluator evaluator = new StandardBoardEvaluator(new PawnHashTable(16));
+        final int score = evaluator.evaluate(board, 0);
+        assertEquals(0, evaluator.getPawnHashTable().getHits());
+        assertEquals(score, evaluator.evaluate(board, 0));
+        assertEquals(1, evaluator.getPawnHashTable().getHits());
+        assertEquals(score, new StandardBoardEvaluator().evaluate(board, 0));
+        final AlphaBeta alphaBeta = new AlphaBeta(DEPTH);
+        alphaBeta.execute(board);
+        assertTrue(alphaBeta.getPawnHashHitRate() > 0.5);
+    }
+    @Test
+    public void reportsSearchStats() throws JMException {
+        final Board board = BoardUtils.playMoves(Board.createStandardBoard(), "e2e4", "e7e5", "g1f3", "b8c6");
+        final AlphaBeta alphaBeta = new AlphaBeta(4);
+        assertSame(SearchStats.NONE, alphaBeta.getSearchStats());
+        alphaBeta.execute(board);
+        final SearchStats stats = alphaBeta.getSearchStats();
+        assertEquals(4, stats.getCompletedDepth());
+        assertEquals(4, stats.getIterationNodes().size());
+        assertEquals(alphaBeta.getNodesSearched() + alphaBeta.getQuiescenceNodes(), stats.getNodes());
+        assertEquals(stats.getNodes(), stats.getIterationNodes().stream().mapToLong(Long::longValue).sum());
+        assertEquals(alphaBeta.getBetaCutoffs(), stats.getBetaCutoffs());
+        assertTrue(stats.getEvaluations() > 0 && stats.getEvaluations() <= stats.getNodes());
+        assertTrue(stats.getEffectiveBranchingFactor() > 1.0);
+        assertSame(stats, SearchMonitor.get().getLastSearch());
+        assertEquals(stats.getNodes(), ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(SearchMonitor.OBJECT_NAME), "LastNodes"));
+        final MiniMax miniMax = new MiniMax(2);
+        miniMax.execute(board);
+        assertEquals(miniMax.getNodesSearched(), miniMax.getSearchStats().getNodes());
+        assertEquals(2, miniMax.getSearchStats().getCompletedDepth());
+        assertTrue(miniMax.getSearchStats().getIterationNodes().isEmpty());
+    }
+    @Test
+    public void ordersCutoffMovesFirst(){
+        final Board board = BoardUtils.playMoves(Board.createStandardBoard(), "e2e4", "e7e5", "g1f3", "b8c6");
+        final AlphaBeta alphaBeta = new AlphaBeta(4);
+        alphaBeta.execute(board);
+        assertTrue(alphaBeta.getBetaCutoffs() > 0);
+        assertTrue(alphaBeta.getFirstMoveCutoffRate() > 0.8);
+    }
+    @Test
+    public void singleThreadIsDeterministic(){
+        final Board board = BoardUtils.playMoves(Board.createStandardBoard(), "e2e4", "c7c5", "g1f3", "d7d6");
+        final AlphaBeta first = new AlphaBeta.Builder().setSearchLimits(SearchLimits.depth(4)).build();
+        final AlphaBeta second = new AlphaBeta.Builder().setSearchLimits(SearchLimits.depth(4)).build();
+        assertEquals(first.execute(board), second.execute(board));
+        assertEquals(first.getNodesSearched(), second.getNodesSearched());
+        assertEquals(first.getQuiescenceNodes(), second.getQuiescenceNodes());
+    }
+    @Test
+    public void parallelSearchFindsSameMove(){
+        try (AlphaBeta parallel = new AlphaBeta.Builder().setSearchLimits(SearchLimits.depth(SearchLimits.MAX_DEPTH))
+                .setThreads(4).build()){
+            assertEquals(4, parallel.getThreads());
+            for (final String[] position : POSITIONS){
+                final Board board = BoardUtils.playMoves(Board.createStandardBoard(), position);
+                final Move singleThreadMove = new AlphaBeta.Builder().setSearchLimits(SearchLimits.depth(DEPTH))
+                        .build().execute(board);
+                assertEquals(singleThreadMove, parallel.execute(board, SearchLimits.depth(DEPTH)));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AlphaBeta(DEPTH)
+                .execute(Board.createStandardBoard(), SearchLimits.depth(DEPTH + 1)));
+    }
+    @Test
+    public void stopsAtNodeLimit(){
+        final Board board = Board.createStandardBoard();
+        final AlphaBeta alphaBeta = new AlphaBeta(SearchLimits.nodes(20_000), null);
+        final Move move = alphaBeta.execute(board);
+        assertTrue(board.currentPlayer().getLegalMoves().contains(move));
+        assertTrue(alphaBeta.getCompletedDepth() >= 1);
+        assertTrue(alphaBeta.getCompletedDepth() < SearchLimits.MAX_DEPTH);
+        assertTrue(alphaBeta.getNodesSearched() <= 20_000);
+    }
+    @Test
+    public void stopBetweenSearchesIsIgnored(){
+        final AlphaBeta alphaBeta = new AlphaBeta(DEPTH);
+        alphaBeta.execute(Board.createStandardBoard());
+        alphaBeta.stop();
+        alphaBeta.execute(BoardUtils.playMoves(Board.createStandardBoard(), "e2e4"));
+        assertEquals(DEPTH, alphaBeta.getCompletedDepth());
+    }
+    @Test
+    public void stopsAtTimeLimit(){
+        final Board board = BoardUtils.playMoves(Board.createStandardBoard(), "e2e4", "e7e5", "g1f3", "b8c6");
+        final AlphaBeta alphaBeta = new AlphaBeta(SearchLimits.moveTime(200), null);
+        final long startTime = System.currentTimeMillis();
+        final Move move = alphaBeta.execute(board);
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+        assertTrue(board.currentPlayer().getLegalMoves().contains(move));
+        assertTrue(alphaBeta.getCompletedDepth() >= 1);
+    }
+    //Both pawns the queen can take, on e5 and f7, are defended, so taking one loses the queen.
+    private static boolean isQueenCapture(final Move move){
+        return move.isAttack() && move.getMovedPiece().getPieceType() == Piece.PieceType.QUEEN;
+    }
+}
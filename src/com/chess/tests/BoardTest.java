@@ -1,8 +1,25 @@
 package com.chess.tests;
 
+import com.chess.FenUtilities;
+import com.chess.engine.Team;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.PieceSquareTables;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.board.Zobrist;
+import com.chess.engine.piece.Piece;
+import com.chess.engine.piece.PieceUtils;
+import com.chess.engine.player.GameStatus;
+import com.chess.tools.Perft;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BoardTest {
@@ -20,4 +37,180 @@ class BoardTest {
         assertFalse(board.currentPlayer().getOpponent().isInCheckMate());
         assertFalse(board.currentPlayer().getOpponent().isCastled());
 
-}}
\ No newline at end of file
+}
+    @Test
+    public void initialBitBoards(){
+        final Board board = Board.createStandardBoard();
+        assertEquals(32, BitBoards.count(board.getOccupancy()));
+        assertEquals(0xFFFFL, board.getTeamBitBoard(Team.BLACK));
+        assertEquals(0xFFFFL << 48, board.getTeamBitBoard(Team.WHITE));
+        assertEquals(0xFFL << 48, board.getPieceBitBoard(Team.WHITE, Piece.PieceType.PAWN));
+        assertEquals(BitBoards.squareMask(4), board.getPieceBitBoard(Team.BLACK, Piece.PieceType.KING));
+        assertEquals(16, board.getWhitePieces().size());
+        assertEquals(16, board.getBlackPieces().size());
+        assertEquals(Piece.PieceType.QUEEN, board.getTile(59).getPiece().getPieceType());
+        assertFalse(board.getTile(35).isTileOccupied());
+    }
+    @Test
+    public void zobristKeyTransposition(){
+        final Board start = Board.createStandardBoard();
+        final Board first = BoardUtils.playMoves(start, "g1f3", "g8f6", "b1c3");
+        final Board second = BoardUtils.playMoves(start, "b1c3", "g8f6", "g1f3");
+        assertEquals(Zobrist.calculateKey(first), first.getZobristKey());
+        assertEquals(first.getZobristKey(), second.getZobristKey());
+        assertEquals(first, second);
+        assertNotEquals(start.getZobristKey(), first.getZobristKey());
+        final Board castled = BoardUtils.playMoves(first, "e7e6", "e2e3", "f8e7", "f1e2", "e8g8");
+        assertEquals(Zobrist.calculateKey(castled), castled.getZobristKey());
+        assertEquals(new SearchBoard(castled).getZobristKey(), castled.getZobristKey());
+    }
+    @Test
+    public void gameStatus(){
+        assertEquals(GameStatus.ONGOING, Board.createStandardBoard().currentPlayer().getGameStatus());
+        final Board foolsMate = BoardUtils.playMoves(Board.createStandardBoard(), "f2f3", "e7e5", "g2g4", "d8h4");
+        assertSame(GameStatus.CHECKMATE, foolsMate.currentPlayer().getGameStatus());
+        assertTrue(foolsMate.currentPlayer().isInCheckMate());
+        assertFalse(foolsMate.currentPlayer().isInStaleMate());
+        final Board staleMate = FenUtilities.createGameFromFEN("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        assertEquals(GameStatus.STALEMATE, staleMate.currentPlayer().getGameStatus());
+        assertTrue(staleMate.currentPlayer().getLegalMoves().isEmpty());
+        final Board inCheck = FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/4R1K1 b - - 0 1");
+        assertEquals(GameStatus.CHECK, inCheck.currentPlayer().getGameStatus());
+        assertTrue(inCheck.currentPlayer().getGameStatus().isInCheck());
+    }
+    @Test
+    public void legalMoveIndex(){
+        final Board board = FenUtilities.createGameFromFEN(Perft.KIWIPETE);
+        for (final Move move : board.currentPlayer().getLegalMoves()){
+            assertSame(move, board.currentPlayer().getLegalMove(move.getCurrentCoords(), move.getDestinationCoords()));
+            assertTrue(board.currentPlayer().isMoveLegal(move));
+        }
+        assertSame(Move.NULL_MOVE, board.currentPlayer().getLegalMove(BoardUtils.getCoordinateAtPosition("e1"),
+                BoardUtils.getCoordinateAtPosition("e3")));
+        assertFalse(board.currentPlayer().isMoveLegal(Move.NULL_MOVE));
+        final Board inCheck = FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/4R1K1 b - - 0 1");
+        assertSame(Move.NULL_MOVE, inCheck.currentPlayer().getLegalMove(BoardUtils.getCoordinateAtPosition("e8"),
+                BoardUtils.getCoordinateAtPosition("e7")));
+        assertNotSame(Move.NULL_MOVE, inCheck.currentPlayer().getLegalMove(BoardUtils.getCoordinateAtPosition("e8"),
+                BoardUtils.getCoordinateAtPosition("d7")));
+    }
+    @Test
+    public void coordinateNotationMoves(){
+        final Board board = FenUtilities.createGameFromFEN(Perft.KIWIPETE);
+        for (final Move move : board.currentPlayer().getLegalMoves()){
+            final String notation = PackedMove.toCoordinateNotation(PackedMove.fromMove(move));
+            assertSame(move, Move.MoveFactory.createMove(board, notation));
+        }
+        assertSame(Move.NULL_MOVE, Move.MoveFactory.createMove(board, "a7a6"));
+        assertSame(Move.NULL_MOVE, Move.MoveFactory.createMove(board, "e1e3"));
+        assertSame(Move.NULL_MOVE, Move.MoveFactory.createMove(board, "i2i4"));
+        assertSame(Move.NULL_MOVE, Move.MoveFactory.createMove(board, "e2"));
+        final Board promotion = FenUtilities.createGameFromFEN("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+        assertTrue(Move.MoveFactory.createMove(promotion, "b7b8q") instanceof Move.PawnPromotion);
+        assertSame(Move.NULL_MOVE, Move.MoveFactory.createMove(promotion, "b7b8"));
+        assertSame(Move.NULL_MOVE, Move.MoveFactory.createMove(promotion, "b7b8n"));
+    }
+    @Test
+    public void incrementalEvaluationTerms(){
+        final Board board = FenUtilities.createGameFromFEN(Perft.KIWIPETE);
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int phase = searchBoard.getPhase();
+        assertEquals(PieceSquareTables.TOTAL_PHASE, phase);
+        for (final Move move : board.currentPlayer().getLegalMoves()){
+            searchBoard.makeMove(PackedMove.fromMove(move));
+            assertSameTerms(new SearchBoard(move.execute()), searchBoard);
+            searchBoard.unmakeMove();
+        }
+        assertSameTerms(new SearchBoard(board), searchBoard);
+        assertEquals(phase, searchBoard.getPhase());
+        //Eight single pawn pushes and four knight moves, the double pushes are left out.
+        final SearchBoard start = new SearchBoard(Board.createStandardBoard());
+        assertEquals(12, start.countMobility(Team.WHITE));
+        assertEquals(12, start.countMobility(Team.BLACK));
+    }
+    private static void assertSameTerms(final SearchBoard expected, final SearchBoard actual){
+        for (final Team team : Team.values()){
+            assertEquals(expected.getMaterial(team), actual.getMaterial(team));
+            assertEquals(expected.getMiddlegameScore(team), actual.getMiddlegameScore(team));
+            assertEquals(expected.getEndgameScore(team), actual.getEndgameScore(team));
+        }
+        assertEquals(expected.getPhase(), actual.getPhase());
+        assertEquals(expected.getPawnKey(), actual.getPawnKey());
+    }
+    @Test
+    public void piecesAreInterned(){
+        final Board start = Board.createStandardBoard();
+        final Board moved = BoardUtils.playMoves(start, "g1f3", "e7e5", "f3g1");
+        final int f3 = BoardUtils.getCoordinateAtPosition("f3");
+        final int g1 = BoardUtils.getCoordinateAtPosition("g1");
+        assertSame(PieceUtils.getKnight(Team.WHITE, g1, true), start.getPiece(g1));
+        assertSame(PieceUtils.getKnight(Team.WHITE, g1, false), moved.getPiece(g1));
+        assertSame(PieceUtils.getKnight(Team.WHITE, f3, false), BoardUtils.playMoves(start, "g1f3").getPiece(f3));
+        assertSame(start.getPiece(0), FenUtilities.createGameFromFEN(FenUtilities.createFENFromGame(start)).getPiece(0));
+        final int e1 = BoardUtils.getCoordinateAtPosition("e1");
+        assertNotEquals(PieceUtils.getKing(Team.WHITE, e1, true, false, true, true),
+                PieceUtils.getKing(Team.WHITE, e1, true, false, false, false));
+    }
+    @Test
+    public void magicSlidingAttacks(){
+        final Random random = new Random(42);
+        for (int coordinate = 0; coordinate < BoardUtils.Num_Tiles; coordinate++){
+            for (int i = 0; i < 200; i++){
+                final long occupancy = random.nextLong() & random.nextLong();
+                assertEquals(rayAttacks(coordinate, occupancy, -8, -1, 1, 8), BitBoards.rookAttacks(coordinate, occupancy));
+                assertEquals(rayAttacks(coordinate, occupancy, -9, -7, 7, 9), BitBoards.bishopAttacks(coordinate, occupancy));
+            }
+        }
+        assertEquals(14, BitBoards.count(BitBoards.rookAttacks(27, BitBoards.EMPTY)));
+        assertEquals(13, BitBoards.count(BitBoards.bishopAttacks(27, BitBoards.EMPTY)));
+    }
+    @Test
+    public void packedMovesMatchBoardMoves(){
+        for (final String fen : new String[]{
+                Perft.KIWIPETE,
+                "1n2k3/P7/8/2pP4/8/8/8/4K3 w - c6 0 1"}){
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            final int[] moves = new int[SearchBoard.MAX_MOVES];
+            final int numMoves = new SearchBoard(board).generateLegalMoves(moves);
+            final Set<Integer> searchMoves = new HashSet<>();
+            for (int i = 0; i < numMoves; i++){
+                searchMoves.add(moves[i]);
+            }
+            final Set<Integer> boardMoves = new HashSet<>();
+            for (final Move move : board.currentPlayer().getLegalMoves()){
+                final int packedMove = PackedMove.fromMove(move);
+                boardMoves.add(packedMove);
+                assertSame(move, Move.MoveFactory.createMove(board, packedMove));
+            }
+            assertEquals(boardMoves, searchMoves);
+        }
+        final Board board = FenUtilities.createGameFromFEN("1n2k3/P7/8/2pP4/8/8/8/4K3 w - c6 0 1");
+        final int promotion = PackedMove.fromMove(Move.MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition("a7"), BoardUtils.getCoordinateAtPosition("b8")));
+        assertEquals("a7b8q", PackedMove.toCoordinateNotation(promotion));
+        assertEquals(Piece.PieceType.KNIGHT.ordinal(), PackedMove.getCapturedType(promotion));
+        final int enPassant = PackedMove.fromMove(Move.MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition("d5"), BoardUtils.getCoordinateAtPosition("c6")));
+        assertEquals(PackedMove.EN_PASSANT, PackedMove.getMoveType(enPassant));
+        assertEquals(Piece.PieceType.PAWN.ordinal(), PackedMove.getCapturedType(enPassant));
+    }
+    private static long rayAttacks(final int coordinate, final long occupancy, final int... offsets){
+        long attacks = BitBoards.EMPTY;
+        for (final int offset : offsets){
+            int current = coordinate;
+            while (true){
+                final int column = current % BoardUtils.Num_Tiles_Row;
+                final int next = current + offset;
+                if (next < 0 || next >= BoardUtils.Num_Tiles || Math.abs(next % BoardUtils.Num_Tiles_Row - column) > 1){
+                    break;
+                }
+                attacks |= BitBoards.squareMask(next);
+                if (BitBoards.isOccupied(occupancy, next)){
+                    break;
+                }
+                current = next;
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,72 @@
+package com.chess.tests;
+
+import com.chess.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+import com.chess.tools.Perft;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+    private static final String ROOK_ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    @Test
+    public void initialPosition(){
+        final Board board = Board.createStandardBoard();
+        assertEquals(8902, Perft.perft(board, 3));
+        assertEquals(197281, Perft.perft(new SearchBoard(board), 4));
+    }
+    @Test
+    public void kiwipete(){
+        final Board board = FenUtilities.createGameFromFEN(Perft.KIWIPETE);
+        assertEquals(2039, Perft.perft(board, 2));
+        assertEquals(97862, Perft.perft(new SearchBoard(board), 3));
+    }
+    @Test
+    public void rookEndgame(){
+        final Board board = FenUtilities.createGameFromFEN(ROOK_ENDGAME);
+        assertEquals(2812, Perft.perft(board, 3));
+        assertEquals(43238, Perft.perft(new SearchBoard(board), 4));
+    }
+    @Test
+    public void enPassantFromFen(){
+        final Board board = FenUtilities.createGameFromFEN("8/8/8/8/k2Pp2Q/8/8/3K4 b - d3 0 1");
+        assertNotNull(board.getEnPassantPawn());
+        assertEquals(6, Perft.perft(board, 1));
+        assertEquals(6, Perft.perft(new SearchBoard(board), 1));
+    }
+    @Test
+    public void divideSumsToPerft(){
+        final Board board = FenUtilities.createGameFromFEN(Perft.KIWIPETE);
+        final Map<String, Long> division = Perft.divide(board, 2, 2, false);
+        assertEquals(48, division.size());
+        assertEquals(2039, division.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(Long.valueOf(43), division.get("e1g1"));
+        assertEquals(1, Perft.perft(board, 0));
+        assertEquals(1, Perft.perft(new SearchBoard(board), 0));
+        assertThrows(IllegalArgumentException.class, () -> Perft.divide(board, 0, 1, false));
+    }
+    @Test
+    public void fenRoundTrip(){
+        final String standardFen = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+        final Board board = FenUtilities.createGameFromFEN(standardFen);
+        assertEquals(Board.createStandardBoard(), board);
+        assertEquals(standardFen, FenUtilities.createFENFromGame(board));
+        assertEquals(Perft.KIWIPETE, FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN(Perft.KIWIPETE)));
+    }
+    @Test
+    public void rejectsInvalidFen(){
+        for (final String fen : new String[]{
+                "8/8/8/8/8/8/8/8 w - - 0 1",
+                "4k3/8/8/8/8/8/8/4K2K w - - 0 1",
+                "P3k3/8/8/8/8/8/8/4K3 w - - 0 1",
+                "4k3/8/8/8/8/8/8/p3K3 b - - 0 1",
+                "4k3/8/8/8/8/8/8/4K3 w - e9 0 1",
+                "4k3/8/8/8/8/8/8/4K3 w - a1 0 1",
+                "8/8/8/8/k2Pp2Q/8/8/3K4 b - d6 0 1"}){
+            assertThrows(IllegalArgumentException.class, () -> FenUtilities.createGameFromFEN(fen), fen);
+        }
+    }
+}
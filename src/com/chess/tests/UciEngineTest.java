@@ -0,0 +1,93 @@
+package com.chess.tests;
+
+import com.chess.tools.Perft;
+import com.chess.uci.UciEngine;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UciEngineTest {
+    @Test
+    public void answersHandshakeAndSearches() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final UciEngine engine = new UciEngine(new PrintStream(output), 1);
+        engine.run(new BufferedReader(new StringReader(String.join("\n", "uci", "isready", "ucinewgame",
+                "position startpos moves e2e4 e7e5 f1c4 b8c6 d1h5 g8f6", "go depth 3"))));
+        final List<String> lines = lines(output);
+        assertTrue(lines.contains("uciok"));
+        assertTrue(lines.contains("readyok"));
+        assertEquals("bestmove h5f7", lines.get(lines.size() - 1));
+    }
+    @Test
+    public void stopEndsAnInfiniteSearch(){
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final UciEngine engine = new UciEngine(new PrintStream(output), 1);
+        engine.handle("position fen " + Perft.KIWIPETE);
+        engine.handle("go infinite");
+        engine.handle("isready");
+        engine.handle("stop");
+        final List<String> lines = lines(output);
+        assertEquals("readyok", lines.get(0));
+        assertTrue(lines.get(lines.size() - 1).startsWith("bestmove "));
+        assertFalse(lines.get(lines.size() - 1).equals("bestmove 0000"));
+    }
+    @Test
+    public void infiniteSearchHoldsBestMoveUntilStop() throws InterruptedException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final UciEngine engine = new UciEngine(new PrintStream(output), 1);
+        engine.handle("position startpos moves f2f3 e7e5 g2g4 d8h4");
+        engine.handle("go infinite");
+        //With no legal move the search ends at once, the bestmove still has to wait for stop.
+        Thread.sleep(200);
+        assertFalse(output.toString().contains("bestmove"));
+        engine.handle("stop");
+        final List<String> lines = lines(output);
+        assertEquals("bestmove 0000", lines.get(lines.size() - 1));
+    }
+    @Test
+    public void reportsIllegalMoves(){
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final UciEngine engine = new UciEngine(new PrintStream(output), 1);
+        engine.handle("position startpos moves e2e4 e2e4");
+        assertEquals(Arrays.asList("info string Illegal move e2e4"), lines(output));
+        assertFalse(engine.handle("quit"));
+    }
+    private static List<String> lines(final ByteArrayOutputStream output){
+        return Arrays.asList(output.toString().trim().split("\\R"));
+    }
+    @Test
+    public void survivesInvalidPositions(){
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final UciEngine engine = new UciEngine(new PrintStream(output), 1);
+        engine.handle("position fen 8/8/8/8/8/8/8/8 w - - 0 1");
+        engine.handle("position fen 4k3/8/8/8/8/8/8/4K3 w - e9 0 1");
+        engine.handle("position fen P3k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        engine.handle("go depth 1");
+        assertTrue(engine.handle("isready"));
+        engine.handle("stop");
+        final List<String> lines = lines(output);
+        assertEquals(3, lines.stream().filter(line -> line.startsWith("info string ")).count());
+        assertTrue(lines.contains("readyok"));
+        //A depth 1 search can answer before readyok is written, so the bestmove is not always the last line.
+        final String bestMove = lines.stream().filter(line -> line.startsWith("bestmove ")).findFirst().orElse("");
+        assertFalse(bestMove.isEmpty() || bestMove.equals("bestmove 0000"));
+    }
+    @Test
+    public void checkmatedSideAnswersNullMove(){
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final UciEngine engine = new UciEngine(new PrintStream(output), 1);
+        engine.handle("position startpos moves f2f3 e7e5 g2g4 d8h4");
+        engine.handle("go depth 2");
+        engine.handle("stop");
+        final List<String> lines = lines(output);
+        assertEquals("bestmove 0000", lines.get(lines.size() - 1));
+    }
+}
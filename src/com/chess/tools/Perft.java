@@ -0,0 +1,181 @@
+package com.chess.tools;
+import com.chess.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+//Counts the leaf nodes of the move tree to a fixed depth, the standard check of a move generator against known
+//totals. The SearchBoard generator is used unless -board asks for the Board and Piece.calcLegalMoves one.
+//Usage: Perft <depth> [fen] [-divide] [-board] [-threads n]
+//       Perft -bulk [-board] [-threads n]
+public final class Perft {
+    private static final String STANDARD_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    //Castling both ways, en passant, pins and promotions close by, the usual position for checking a generator.
+    public static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    //Published totals. The engine only promotes to a queen, so positions are only taken to depths where no
+    //promotion can happen yet.
+    private static final ReferencePosition[] REFERENCE_POSITIONS = {
+            new ReferencePosition("Initial position", STANDARD_FEN,
+                    20L, 400L, 8_902L, 197_281L, 4_865_609L),
+            new ReferencePosition("Kiwipete", KIWIPETE,
+                    48L, 2_039L, 97_862L),
+            new ReferencePosition("Rook endgame", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14L, 191L, 2_812L, 43_238L, 674_624L),
+            new ReferencePosition("Castling and pins", "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1",
+                    26L, 568L, 13_744L),
+            new ReferencePosition("En passant discovered check", "8/8/8/8/k2Pp2Q/8/8/3K4 b - d3 0 1",
+                    6L),
+    };
+    private Perft(){
+        throw new RuntimeException("Cant Do that");
+    }
+    public static long perft(final Board board, final int depth){
+        final Collection<Move> legalMoves = board.currentPlayer().getLegalMoves();
+        if (depth <= 1){
+            return depth == 1 ? legalMoves.size() : 1;
+        }
+        long nodes = 0;
+        for (final Move move : legalMoves){
+            nodes += perft(move.execute(), depth - 1);
+        }
+        return nodes;
+    }
+    public static long perft(final SearchBoard board, final int depth){
+        return perft(board, depth, new int[Math.max(depth, 1) + 1][SearchBoard.MAX_MOVES]);
+    }
+    private static long perft(final SearchBoard board, final int depth, final int[][] moveBuffers){
+        final int[] moves = moveBuffers[depth];
+        final int numMoves = board.generateLegalMoves(moves);
+        if (depth <= 1){
+            return depth == 1 ? numMoves : 1;
+        }
+        long nodes = 0;
+        for (int i = 0; i < numMoves; i++){
+            board.makeMove(moves[i]);
+            nodes += perft(board, depth - 1, moveBuffers);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+    //Leaf counts below each root move, keyed by the move in coordinate notation. The root moves are shared out
+    //over the given number of threads. Depth 0 has no root moves to divide, perft gives its single node.
+    public static Map<String, Long> divide(final Board board, final int depth, final int threads,
+                                           final boolean useBoardGenerator){
+        if (depth < 1){
+            throw new IllegalArgumentException("Divide needs a depth of at least 1, got " + depth);
+        }
+        final List<Move> rootMoves = new ArrayList<>(board.currentPlayer().getLegalMoves());
+        final List<Callable<Long>> tasks = new ArrayList<>(rootMoves.size());
+        for (final Move move : rootMoves){
+            tasks.add(() -> useBoardGenerator ?
+                    perft(move.execute(), depth - 1) :
+                    perft(new SearchBoard(move.execute()), depth - 1));
+        }
+        final Map<String, Long> division = new LinkedHashMap<>();
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            final List<Future<Long>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < rootMoves.size(); i++){
+                division.put(PackedMove.toCoordinateNotation(PackedMove.fromMove(rootMoves.get(i))), results.get(i).get());
+            }
+        } catch (final InterruptedException | ExecutionException e){
+            throw new IllegalStateException("Perft interrupted", e);
+        } finally {
+            pool.shutdown();
+        }
+        return division;
+    }
+    public static void main(final String[] args){
+        boolean divide = false;
+        boolean bulk = false;
+        boolean useBoardGenerator = false;
+        int threads = 1;
+        final List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < args.length; i++){
+            switch (args[i]){
+                case "-divide":
+                    divide = true;
+                    break;
+                case "-bulk":
+                    bulk = true;
+                    break;
+                case "-board":
+                    useBoardGenerator = true;
+                    break;
+                case "-threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    arguments.add(args[i]);
+            }
+        }
+        if (bulk){
+            System.exit(runReferencePositions(threads, useBoardGenerator) ? 0 : 1);
+        }
+        if (arguments.isEmpty()){
+            System.out.println("Usage: Perft <depth> [fen] [-divide] [-board] [-threads n] | Perft -bulk [-board] [-threads n]");
+            return;
+        }
+        final int depth = Integer.parseInt(arguments.get(0));
+        final Board board = arguments.size() > 1 ?
+                FenUtilities.createGameFromFEN(String.join(" ", arguments.subList(1, arguments.size()))) :
+                Board.createStandardBoard();
+        final long startTime = System.nanoTime();
+        final Map<String, Long> division = divide(board, depth, threads, useBoardGenerator);
+        final long elapsedNanos = System.nanoTime() - startTime;
+        long nodes = 0;
+        for (final Map.Entry<String, Long> entry : division.entrySet()){
+            if (divide){
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+            }
+            nodes += entry.getValue();
+        }
+        printResult("perft(" + depth + ")", nodes, elapsedNanos);
+    }
+    private static boolean runReferencePositions(final int threads, final boolean useBoardGenerator){
+        boolean allPassed = true;
+        for (final ReferencePosition position : REFERENCE_POSITIONS){
+            final Board board = FenUtilities.createGameFromFEN(position.fen);
+            System.out.println(position.name + ": " + position.fen);
+            for (int depth = 1; depth <= position.nodes.length; depth++){
+                final long startTime = System.nanoTime();
+                long nodes = 0;
+                for (final long divisionNodes : divide(board, depth, threads, useBoardGenerator).values()){
+                    nodes += divisionNodes;
+                }
+                final long elapsedNanos = System.nanoTime() - startTime;
+                final boolean passed = nodes == position.nodes[depth - 1];
+                allPassed &= passed;
+                printResult((passed ? "  ok   " : "  FAIL ") + "perft(" + depth + ")", nodes, elapsedNanos);
+                if (!passed){
+                    System.out.println("         expected " + position.nodes[depth - 1]);
+                }
+            }
+        }
+        System.out.println(allPassed ? "All reference positions match" : "Reference positions DO NOT match");
+        return allPassed;
+    }
+    private static void printResult(final String label, final long nodes, final long elapsedNanos){
+        final double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        System.out.printf("%s = %d nodes in %.3f s, %.0f nodes/s%n", label, nodes, seconds, nodes / seconds);
+    }
+    private static final class ReferencePosition {
+        private final String name;
+        private final String fen;
+        private final long[] nodes;
+        private ReferencePosition(final String name, final String fen, final long... nodes){
+            this.name = name;
+            this.fen = fen;
+            this.nodes = nodes;
+        }
+    }
+}
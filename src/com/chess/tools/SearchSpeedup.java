@@ -0,0 +1,64 @@
+package com.chess.tools;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.TranspositionTable;
+//Times a fixed depth AlphaBeta search over a few positions with 1, 2, 4 and 8 threads and prints the speed-up over
+//the first thread count, after a warm-up pass. Usage: SearchSpeedup [depth] [thread counts...]
+public final class SearchSpeedup {
+    private static final int DEFAULT_DEPTH = 6;
+    private static final int[] DEFAULT_THREADS = {1, 2, 4, 8};
+    private static final int TRANSPOSITION_TABLE_MB = 64;
+    private static final String[][] POSITIONS = {
+            {},
+            {"e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6"},
+            {"d2d4", "g8f6", "c2c4", "e7e6", "b1c3", "f8b4"},
+            {"e2e4", "c7c5", "g1f3", "d7d6", "d2d4", "c5d4", "f3d4", "g8f6"},
+    };
+    private SearchSpeedup(){
+        throw new RuntimeException("Cant Do that");
+    }
+    public static void main(final String[] args){
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        final int[] threadCounts = new int[Math.max(args.length - 1, 0)];
+        for (int i = 1; i < args.length; i++){
+            threadCounts[i - 1] = Integer.parseInt(args[i]);
+        }
+        final int[] threads = threadCounts.length > 0 ? threadCounts : DEFAULT_THREADS;
+        System.out.println("Depth " + depth + ", " + Runtime.getRuntime().availableProcessors() + " processors");
+        System.out.printf("%8s %10s %14s %12s %8s%n", "threads", "time ms", "nodes", "nodes/s", "speedup");
+        for (final String[] position : POSITIONS){
+            try (AlphaBeta alphaBeta = createSearch(depth, threads[0])){
+                alphaBeta.execute(BoardUtils.playMoves(Board.createStandardBoard(), position));
+            }
+        }
+        double baselineMillis = 0;
+        for (final int threadCount : threads){
+            long elapsedNanos = 0;
+            long nodes = 0;
+            for (final String[] position : POSITIONS){
+                final Board board = BoardUtils.playMoves(Board.createStandardBoard(), position);
+                try (AlphaBeta alphaBeta = createSearch(depth, threadCount)){
+                    final long startTime = System.nanoTime();
+                    alphaBeta.execute(board);
+                    elapsedNanos += System.nanoTime() - startTime;
+                    nodes += alphaBeta.getNodesSearched() + alphaBeta.getQuiescenceNodes();
+                }
+            }
+            final double millis = elapsedNanos / 1_000_000.0;
+            if (baselineMillis == 0){
+                baselineMillis = millis;
+            }
+            System.out.printf("%8d %10.0f %14d %12.0f %8.2f%n", threadCount, millis, nodes,
+                    nodes / (elapsedNanos / 1_000_000_000.0), baselineMillis / millis);
+        }
+    }
+    private static AlphaBeta createSearch(final int depth, final int threads){
+        return new AlphaBeta.Builder()
+                .setSearchLimits(SearchLimits.depth(depth))
+                .setTranspositionTable(new TranspositionTable(TRANSPOSITION_TABLE_MB))
+                .setThreads(threads)
+                .build();
+    }
+}
@@ -0,0 +1,249 @@
+package com.chess.uci;
+import com.chess.FenUtilities;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.SearchStats;
+import com.chess.engine.player.ai.TranspositionTable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+//Headless front end that speaks UCI on stdin and stdout, so tournament managers and batch tools can run the
+//engine without a display. Commands are read on the calling thread and every go starts its own search thread,
+//which leaves the reader free to answer isready and to pass stop on to the search at once.
+public final class UciEngine {
+    private static final String ENGINE_NAME = "ChessNea";
+    private static final String ENGINE_AUTHOR = "ChessNea authors";
+    private static final int TRANSPOSITION_TABLE_MB = 32;
+    //Without movestogo the clock is shared out as if this many moves were left.
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    //Kept back from the clock for the time it takes the move to reach the GUI.
+    private static final long MOVE_OVERHEAD_MILLIS = 50;
+    private static final long STOP_RETRY_MILLIS = 10;
+    private final PrintStream out;
+    private final TranspositionTable transpositionTable;
+    private final AlphaBeta search;
+    private Board board;
+    private Thread searchThread;
+    //Released by stop. An infinite search that ends on its own holds its bestmove until then.
+    private CountDownLatch stopSignal;
+    public UciEngine(final PrintStream out, final int threads){
+        this.out = out;
+        this.transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_MB);
+        //One search for the whole session, each go passes its own limits.
+        this.search = new AlphaBeta.Builder()
+                .setSearchLimits(SearchLimits.depth(SearchLimits.MAX_DEPTH))
+                .setTranspositionTable(this.transpositionTable)
+                .setThreads(threads)
+                .build();
+        this.board = Board.createStandardBoard();
+    }
+    public static void main(String[] args) throws IOException {
+        final UciEngine engine = new UciEngine(System.out, Runtime.getRuntime().availableProcessors());
+        engine.run(new BufferedReader(new InputStreamReader(System.in)));
+    }
+    //Reads commands until quit, which stops a running search, or until the end of the input, which lets it finish
+    //so a batch of commands can be piped in.
+    public void run(final BufferedReader in) throws IOException {
+        try {
+            String line = in.readLine();
+            while (line != null){
+                if (!handle(line)){
+                    stopSearch();
+                    return;
+                }
+                line = in.readLine();
+            }
+            waitForSearch();
+        } finally {
+            this.search.close();
+        }
+    }
+    //Returns false for quit. Unknown commands are ignored, as the protocol asks.
+    public boolean handle(final String line){
+        final List<String> tokens = Arrays.asList(line.trim().split("\\s+"));
+        switch (tokens.get(0)){
+            case "uci":
+                send("id name " + ENGINE_NAME);
+                send("id author " + ENGINE_AUTHOR);
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "ucinewgame":
+                waitForSearch();
+                this.transpositionTable.clear();
+                this.board = Board.createStandardBoard();
+                break;
+            case "position":
+                waitForSearch();
+                setPosition(tokens);
+                break;
+            case "go":
+                waitForSearch();
+                startSearch(createSearchLimits(tokens), tokens.contains("infinite"));
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "quit":
+                return false;
+            default:
+                break;
+        }
+        return true;
+    }
+    //position [startpos | fen <fields>] [moves <move>...], with the moves in coordinate notation such as e7e8q.
+    private void setPosition(final List<String> tokens){
+        final int movesIndex = tokens.indexOf("moves");
+        final int positionEnd = movesIndex < 0 ? tokens.size() : movesIndex;
+        Board position;
+        try {
+            if (tokens.size() > 1 && tokens.get(1).equals("fen")){
+                position = FenUtilities.createGameFromFEN(String.join(" ", tokens.subList(2, positionEnd)));
+            } else {
+                position = Board.createStandardBoard();
+            }
+        } catch (final IllegalArgumentException e){
+            send("info string " + e.getMessage());
+            return;
+        } catch (final RuntimeException e){
+            send("info string Invalid position: " + e);
+            return;
+        }
+        for (int i = movesIndex + 1; movesIndex >= 0 && i < tokens.size(); i++){
+            final Move move = Move.MoveFactory.createMove(position, tokens.get(i));
+            final MoveTransition transition = position.currentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()){
+                send("info string Illegal move " + tokens.get(i));
+                break;
+            }
+            position = transition.getTransitionBoard();
+        }
+        this.board = position;
+    }
+    //go [depth n] [movetime ms] [nodes n] [wtime ms] [btime ms] [winc ms] [binc ms] [movestogo n] [infinite].
+    //Without any limit the search runs until stop.
+    private SearchLimits createSearchLimits(final List<String> tokens){
+        final boolean isWhite = this.board.currentPlayer().getTeam().isWhite();
+        int depth = SearchLimits.MAX_DEPTH;
+        long moveTime = SearchLimits.NO_LIMIT;
+        long nodes = SearchLimits.NO_LIMIT;
+        long clock = SearchLimits.NO_LIMIT;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        try {
+            for (int i = 1; i < tokens.size() - 1; i++){
+                final String value = tokens.get(i + 1);
+                switch (tokens.get(i)){
+                    case "depth":
+                        depth = Math.max(1, Math.min(Integer.parseInt(value), SearchLimits.MAX_DEPTH));
+                        break;
+                    case "movetime":
+                        moveTime = Long.parseLong(value);
+                        break;
+                    case "nodes":
+                        nodes = Long.parseLong(value);
+                        break;
+                    case "wtime":
+                        clock = isWhite ? Long.parseLong(value) : clock;
+                        break;
+                    case "btime":
+                        clock = isWhite ? clock : Long.parseLong(value);
+                        break;
+                    case "winc":
+                        increment = isWhite ? Long.parseLong(value) : increment;
+                        break;
+                    case "binc":
+                        increment = isWhite ? increment : Long.parseLong(value);
+                        break;
+                    case "movestogo":
+                        movesToGo = Math.max(1, Integer.parseInt(value));
+                        break;
+                    default:
+                        continue;
+                }
+                i++;
+            }
+        } catch (final NumberFormatException e){
+            send("info string " + e.getMessage());
+        }
+        if (moveTime == SearchLimits.NO_LIMIT && clock != SearchLimits.NO_LIMIT){
+            moveTime = Math.min(clock / movesToGo + increment / 2, clock - MOVE_OVERHEAD_MILLIS);
+        }
+        return new SearchLimits(depth, Math.max(1, moveTime), Math.max(1, nodes));
+    }
+    private void startSearch(final SearchLimits searchLimits, final boolean infinite){
+        final Board position = this.board;
+        final CountDownLatch stopSignal = new CountDownLatch(infinite ? 1 : 0);
+        this.stopSignal = stopSignal;
+        this.searchThread = new Thread(() -> {
+            Move bestMove = Move.NULL_MOVE;
+            try {
+                bestMove = this.search.execute(position, searchLimits);
+                final SearchStats stats = this.search.getSearchStats();
+                send(String.format("info depth %d nodes %d time %d nps %.0f", stats.getCompletedDepth(),
+                        stats.getNodes(), stats.getElapsedMillis(), stats.getNodesPerSecond()));
+            } catch (final RuntimeException e){
+                send("info string Search failed: " + e);
+            } finally {
+                //The protocol forbids a bestmove in infinite mode before the GUI sends stop.
+                awaitStop(stopSignal);
+                //The GUI waits for a bestmove after every go, even when the search could not give one.
+                send("bestmove " + (bestMove == Move.NULL_MOVE ? "0000" :
+                        PackedMove.toCoordinateNotation(PackedMove.fromMove(bestMove))));
+            }
+        }, "uci-search");
+        this.searchThread.start();
+    }
+    private static void awaitStop(final CountDownLatch stopSignal){
+        try {
+            stopSignal.await();
+        } catch (final InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+    //A stop that reaches the search before its execute has begun is cleared by it, so it is sent again until the
+    //search thread ends.
+    private void stopSearch(){
+        final Thread thread = this.searchThread;
+        try {
+            while (thread != null && thread.isAlive()){
+                this.search.stop();
+                this.stopSignal.countDown();
+                thread.join(STOP_RETRY_MILLIS);
+            }
+        } catch (final InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        waitForSearch();
+    }
+    //Lets a held bestmove go, since the next command can only be answered once the search has ended.
+    private void waitForSearch(){
+        if (this.searchThread == null){
+            return;
+        }
+        this.stopSignal.countDown();
+        try {
+            this.searchThread.join();
+        } catch (final InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        this.searchThread = null;
+    }
+    //The search thread and the reader both write, one line at a time.
+    private void send(final String message){
+        synchronized (this.out){
+            this.out.println(message);
+            this.out.flush();
+        }
+    }
+}